@@ -1,167 +1,315 @@
 package com.codebreeze.testing;
 
 
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.function.Function;
-import java.util.function.Predicate;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
 import java.util.function.Supplier;
-import java.util.stream.Stream;
 
-import static com.codebreeze.testing.PintoArrays.toPrimitive;
 import static com.codebreeze.testing.Randoms.*;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.RETURNS_MOCKS;
 
 class AbstractTester {
-    private final Map<ClassType, Function<Class<?>, Supplier<?>>> getFactoryForClass = new HashMap<ClassType, Function<Class<?>, Supplier<?>>>(){
-        {
-            put(ClassType.STANDARD, SUPPLIERS_FOR_STANDARD_TYPES::get);
-            put(ClassType.ENUM, AbstractTester::factoryForEnum);
-            put(ClassType.NON_FINAL, AbstractTester::factoryFor);
-            put(ClassType.OTHER, type -> {
-                Supplier<?> result = suppliersForNonStandardTypes.get(type);
-                Objects.requireNonNull(result, "otherFactories does not contain a factory for type " + type);
-                return result;
-            });
-        }
-    };
-    private static final Supplier<Integer> INTEGER_FACTORY = new Supplier<Integer>() {
-        private int previous = 0;
-        @Override
-        public Integer get()
-        {
-            return previous = Stream.generate(() -> Randoms.nextInt(0, Integer.MAX_VALUE))
-                                    .filter(doesNotEqual(previous))
-                                    .limit(1)
-                                    .findFirst()
-                                    .orElse(previous + 1);
-        }
-    };
-    private static final Supplier<Integer[]> INTEGER_ARRAY_FACTORY = () -> randomArray(Integer[].class, INTEGER_FACTORY, randomInt(1, 100));
-    private static final Supplier<int[]> INT_ARRAY_FACTORY = () -> toPrimitive(INTEGER_ARRAY_FACTORY.get());
-    private static final Supplier<Short> SHORT_FACTORY = new Supplier<Short>() {
-        private short previous = 0;
-        @Override
-        public Short get() {
-            return previous = Stream.generate(Randoms::randomShort)
-                                       .filter(doesNotEqual(previous))
-                                       .limit(1)
-                                       .findFirst()
-                                       .orElse(previous++);
-        }
-    };
-    private static final Supplier<Short[]> SHORT_ARRAY_FACTORY = () -> randomArray(Short[].class, SHORT_FACTORY, randomInt(1, 100));
-    private static final Supplier<short[]> PRIMITIVE_SHORT_ARRAY_FACTORY = () -> toPrimitive(SHORT_ARRAY_FACTORY.get());
-    private static final Supplier<Long> LONG_FACTORY = new Supplier<Long>() {
-        private long previous = 0L;
+    private static final Supplier<Integer> INTEGER_FACTORY = DistinctSupplier.of(() -> Randoms.nextInt(0, Integer.MAX_VALUE));
+    private static final Supplier<Short> SHORT_FACTORY = DistinctSupplier.of(Randoms::randomShort);
+    private static final Supplier<Long> LONG_FACTORY = DistinctSupplier.of(Randoms::randomLong);
+    private static final Supplier<Double> DOUBLE_FACTORY = DistinctSupplier.of(Randoms::randomDouble);
+    private static final Supplier<Float> FLOAT_FACTORY = DistinctSupplier.of(Randoms::randomFloat);
+    private static final Supplier<Boolean> BOOLEAN_FACTORY = DistinctSupplier.of(Randoms::randomBoolean);
+    private static final Supplier<Character> CHARACTER_FACTORY = DistinctSupplier.of(Randoms::randomChar);
+    private static final Supplier<Byte> BYTE_FACTORY = DistinctSupplier.of(Randoms::randomByte);
+    private static final Supplier<String> STRING_FACTORY = DistinctSupplier.of(() -> randomAlphanumeric(randomInt(1, 100)));
+    private static final IntSupplier DEFAULT_ARRAY_LENGTH = () -> randomInt(1, 100);
+    private static final IntSupplier DEFAULT_COLLECTION_SIZE = () -> randomInt(1, 10);
+    //draws tried for an array, collection or map that differs from the previous one before giving up
+    private static final int MAX_DISTINCT_DRAWS = 32;
+    private final Map<Class<?>, Supplier<?>> suppliersForNonStandardTypes = new HashMap<>();
+    private final Map<Class<?>, Supplier<?>> arraySuppliers = new HashMap<>();
+    private final Map<Type, Supplier<?>> genericSuppliers = new HashMap<>();
+    private IntSupplier arrayLength = DEFAULT_ARRAY_LENGTH;
+    private IntSupplier collectionSize = DEFAULT_COLLECTION_SIZE;
+    private boolean primitiveBackedLists;
+
+
+    enum ClassType {
+        ENUM, STANDARD, NON_FINAL, ARRAY, OTHER
+    }
+
+    private final static Map<Class<?>, Supplier<?>> SUPPLIERS_FOR_STANDARD_TYPES = createStandardFactories();
+    private final static Map<Class<?>, IntFunction<?>> PRIMITIVE_ARRAY_FACTORIES = createPrimitiveArrayFactories();
+    private final static Map<Class<?>, IntFunction<Collection<Object>>> COLLECTION_FACTORIES = createCollectionFactories();
+    private final static Map<Class<?>, IntFunction<Map<Object, Object>>> MAP_FACTORIES = createMapFactories();
+    private final static Map<Class<?>, IntFunction<List<?>>> PRIMITIVE_BACKED_LISTS = createPrimitiveBackedLists();
+
+    private static final ClassValue<ClassType> CLASS_TYPES = new ClassValue<ClassType>() {
         @Override
-        public Long get() {
-            return previous = Stream.generate(Randoms::randomLong)
-                                    .filter(doesNotEqual(previous))
-                                    .limit(1)
-                                    .findFirst()
-                                    .orElse(previous++);
+        protected ClassType computeValue(final Class<?> type) {
+            return getClassType(type);
         }
     };
-    private static final Supplier<Long[]> LONG_ARRAY_FACTORY = () -> randomArray(Long[].class, LONG_FACTORY, randomInt(1, 100));
-    private static final Supplier<long[]> PRIMITIVE_LONG_ARRAY_FACTORY = () -> toPrimitive(LONG_ARRAY_FACTORY.get());
-    private static final Supplier<Double> DOUBLE_FACTORY = new Supplier<Double>() {
-        private double previous = 0;
+
+    //suppliers that do not depend on the tester are resolved once per class and shared by all testers
+    private static final ClassValue<Supplier<?>> SHARED_SUPPLIERS = new ClassValue<Supplier<?>>() {
         @Override
-        public Double get() {
-            return previous = Stream.generate(Randoms::randomDouble)
-                                    .filter(doesNotEqual(previous))
-                                    .limit(1)
-                                    .findFirst()
-                                    .orElse(previous++);
+        protected Supplier<?> computeValue(final Class<?> type) {
+            switch (CLASS_TYPES.get(type)) {
+                case STANDARD:
+                    return SUPPLIERS_FOR_STANDARD_TYPES.get(type);
+                case ENUM:
+                    return factoryForEnum(type);
+                case NON_FINAL:
+                    return factoryFor(type);
+                default:
+                    throw new IllegalArgumentException("suppliers for type " + type + " are given per tester");
+            }
         }
     };
-    private static final Supplier<Double[]> DOUBLE_ARRAY_FACTORY = () -> randomArray(Double[].class, DOUBLE_FACTORY, randomInt(1, 100));
-    private static final Supplier<double[]> PRIMITIVE_DOUBLE_ARRAY_FACTORY = () -> toPrimitive(DOUBLE_ARRAY_FACTORY.get());
-    private static final Supplier<Float> FLOAT_FACTORY = new Supplier<Float>() {
-        private float previous = 0f;
-        @Override
-        public Float get() {
-            return previous = Stream.generate(Randoms::randomFloat)
-                                    .filter(doesNotEqual(previous))
-                                    .limit(1)
-                                    .findFirst()
-                                    .orElse(previous++);
+
+    Supplier<?> getFactoryForClass(final Class<?> type) {
+        switch (CLASS_TYPES.get(type)) {
+            case OTHER:
+                final Supplier<?> result = suppliersForNonStandardTypes.get(type);
+                Objects.requireNonNull(result, "otherFactories does not contain a factory for type " + type);
+                return result;
+            case ARRAY:
+                final Supplier<?> given = suppliersForNonStandardTypes.get(type);
+                return given == null ? factoryForArray(type) : given;
+            default:
+                return SHARED_SUPPLIERS.get(type);
         }
-    };
-    private static final Supplier<Float[]> FLOAT_ARRAY_FACTORY = () -> randomArray(Float[].class, FLOAT_FACTORY, randomInt(1, 100));
-    private static final Supplier<float[]> PRIMITIVE_FLOAT_ARRAY_FACTORY = () -> toPrimitive(FLOAT_ARRAY_FACTORY.get());
-    private static final Supplier<Boolean> BOOLEAN_FACTORY = new Supplier<Boolean>() {
-        private boolean previous = false;
-        @Override
-        public Boolean get() {
-            return previous = Stream.generate(Randoms::randomBoolean)
-                                    .filter(doesNotEqual(previous))
-                                    .limit(1)
-                                    .findFirst()
-                                    .orElse(!previous);
+    }
+
+    /**
+     * arrays of primitives are generated straight into primitive storage, arrays of anything else, nested arrays
+     * included, are filled from the supplier of their component type. every dimension gets a length from the
+     * tester's array length policy. like collections, an array is redrawn while it equals the one before, up to a
+     * point: arrays have no mocks to fall back to, so those of a domain too small to tell apart keep what is drawn.
+     */
+    private Supplier<?> factoryForArray(final Class<?> type) {
+        final Supplier<?> cached = arraySuppliers.get(type);
+        if (cached != null) {
+            return cached;
         }
-    };
-    private static final Supplier<Boolean[]> BOOLEAN_ARRAY_FACTORY = () -> randomArray(Boolean[].class, BOOLEAN_FACTORY, randomInt(1, 100));
-    private static final Supplier<boolean[]> PRIMITIVE_BOOLEAN_ARRAY_FACTORY = () -> toPrimitive(BOOLEAN_ARRAY_FACTORY.get());
-    private static final Supplier<Character> CHARACTER_FACTORY = new Supplier<Character>() {
-        private char previous = '\0';
-        @Override
-        public Character get() {
-            return previous = Stream.generate(Randoms::randomChar)
-                                    .filter(doesNotEqual(previous))
-                                    .limit(1)
-                                    .findFirst()
-                                    .orElse(previous++);
+        final Class<?> component = type.getComponentType();
+        final Supplier<Object> arrays;
+        if (component.isPrimitive()) {
+            final IntFunction<?> primitives = PRIMITIVE_ARRAY_FACTORIES.get(component);
+            arrays = () -> primitives.apply(nextArrayLength());
+        } else {
+            final Supplier<?> elements = getFactoryForClass(component);
+            arrays = () -> {
+                final Object[] array = (Object[]) Array.newInstance(component, nextArrayLength());
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = elements.get();
+                }
+                return array;
+            };
         }
-    };
-    private static final Supplier<Character[]> CHARACTER_ARRAY_FACTORY = () -> randomArray(Character[].class, CHARACTER_FACTORY, randomInt(1, 100));
-    private static final Supplier<char[]> PRIMITIVE_CHAR_ARRAY_FACTORY = () -> toPrimitive(CHARACTER_ARRAY_FACTORY.get());
-    private static final Supplier<Byte> BYTE_FACTORY = new Supplier<Byte>() {
+        final Supplier<?> supplier = DistinctSupplier.bounded(arrays, Objects::deepEquals, MAX_DISTINCT_DRAWS, arrays);
+        arraySuppliers.put(type, supplier);
+        return supplier;
+    }
 
-        private byte previous = 0;
+    private int nextArrayLength() {
+        return nextSize(arrayLength, "array length");
+    }
 
-        @Override
-        public Byte get() {
-            return previous = Stream.generate(Randoms::randomByte)
-                                    .filter(doesNotEqual(previous))
-                                    .limit(1)
-                                    .findFirst()
-                                    .orElse(previous++);
+    private static int nextSize(final IntSupplier policy, final String what) {
+        final int size = policy.getAsInt();
+        if (size < 1) {
+            throw new IllegalStateException(what + " policy returned " + size
+                                            + ", it must be at least 1 to tell instances apart");
         }
-    };
-    private static final Supplier<Byte[]> BYTE_ARRAY_FACTORY = () -> randomArray(Byte[].class, BYTE_FACTORY, randomInt(1, 100));
-    private static final Supplier<byte[]> PRIMITIVE_BYTE_ARRAY_FACTORY = () -> toPrimitive(BYTE_ARRAY_FACTORY.get());
-    private static final Supplier<String> STRING_FACTORY = new Supplier<String>() {
+        return size;
+    }
 
-        private String previous = "";
+    void setArrayLength(final IntSupplier arrayLength) {
+        this.arrayLength = arrayLength == null ? DEFAULT_ARRAY_LENGTH : arrayLength;
+    }
 
-        @Override
-        public String get() {
-            return previous = Stream.generate(() -> randomAlphanumeric(randomInt(1, 100)))
-                                    .filter(doesNotEqual(previous))
-                                    .limit(1)
-                                    .findFirst()
-                                    .orElse(previous + randomAlphanumeric(randomInt(1, 100)));
+    void setCollectionSize(final IntSupplier collectionSize) {
+        this.collectionSize = collectionSize == null ? DEFAULT_COLLECTION_SIZE : collectionSize;
+    }
+
+    void setPrimitiveBackedLists(final boolean primitiveBackedLists) {
+        this.primitiveBackedLists = primitiveBackedLists;
+    }
+
+    /**
+     * like {@link #getFactoryForClass(Class)}, but fields declared as a parameterized collection, map or optional,
+     * such as {@code List<String>} or {@code Map<String, Foo>}, get real instances filled from the suppliers of their
+     * type arguments
+     */
+    Supplier<?> getFactoryForField(final Field field) {
+        final Supplier<?> generic = factoryForGenericType(field.getGenericType());
+        return generic == null ? getFactoryForClass(field.getType()) : generic;
+    }
+
+    //null unless the type is a parameterized collection, map or optional that was not given a supplier of its own
+    private Supplier<?> factoryForGenericType(final Type type) {
+        if (!(type instanceof ParameterizedType)) {
+            return null;
         }
-    };
-    private static final Supplier<String[]> STRING_ARRAY_FACTORY = () -> randomArray(String[].class, STRING_FACTORY, randomInt(1, 100));
-    private final Map<Class<?>, Supplier<?>> suppliersForNonStandardTypes = new HashMap<>();
+        final Supplier<?> cached = genericSuppliers.get(type);
+        if (cached != null) {
+            return cached;
+        }
+        final Class<?> raw = (Class<?>) ((ParameterizedType) type).getRawType();
+        final Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+        if (suppliersForNonStandardTypes.containsKey(raw)) {
+            return null;
+        }
+        final Supplier<?> supplier;
+        try {
+            if (raw == Optional.class) {
+                final Supplier<?> value = factoryForTypeArgument(arguments[0]);
+                supplier = () -> Optional.ofNullable(value.get());
+            } else if (MAP_FACTORIES.containsKey(raw)) {
+                supplier = distinct(raw, factoryForMap(MAP_FACTORIES.get(raw), factoryForTypeArgument(arguments[0]),
+                                                       factoryForTypeArgument(arguments[1])));
+            } else if (COLLECTION_FACTORIES.containsKey(raw)) {
+                //an immutable list can stand in for the interfaces it implements only, not for a set or a class
+                final IntFunction<List<?>> primitiveBacked = primitiveBackedLists && raw.isInterface()
+                                                             && raw.isAssignableFrom(List.class)
+                                                             ? PRIMITIVE_BACKED_LISTS.get(erasure(arguments[0]))
+                                                             : null;
+                supplier = distinct(raw, factoryForCollection(COLLECTION_FACTORIES.get(raw),
+                                                              factoryForTypeArgument(arguments[0]), primitiveBacked));
+            } else {
+                return null;
+            }
+        } catch (final RuntimeException e) {
+            //type arguments without a supplier, the field is treated like any other of its class
+            return null;
+        }
+        genericSuppliers.put(type, supplier);
+        return supplier;
+    }
 
+    private Supplier<?> factoryForTypeArgument(final Type type) {
+        if (type instanceof WildcardType) {
+            return factoryForTypeArgument(((WildcardType) type).getUpperBounds()[0]);
+        }
+        final Supplier<?> generic = factoryForGenericType(type);
+        return generic == null ? getFactoryForClass(erasure(type)) : generic;
+    }
 
-    enum ClassType {
-        ENUM, STANDARD, NON_FINAL, OTHER
+    /**
+     * collections and maps of a small element domain, such as sets of booleans, easily come out equal to the one
+     * before. they are redrawn a few times, and if that does not help the field falls back to mocks of its type,
+     * which always differ. the mocks answer with empty mocks rather than nulls, so that comparing one with a real
+     * collection handed out before tells the two apart instead of failing.
+     */
+    private static Supplier<?> distinct(final Class<?> raw, final Supplier<Object> values) {
+        return DistinctSupplier.bounded(values, MAX_DISTINCT_DRAWS, InstanceSupplier.mockPool(raw, RETURNS_MOCKS));
     }
 
-    private final static Map<Class<?>, Supplier<?>> SUPPLIERS_FOR_STANDARD_TYPES = createStandardFactories();
+    /**
+     * sets may end up smaller than the drawn size when the element supplier repeats itself
+     */
+    private Supplier<Object> factoryForCollection(final IntFunction<Collection<Object>> factory, final Supplier<?> elements,
+                                             final IntFunction<List<?>> primitiveBacked) {
+        return () -> {
+            final int size = nextSize(collectionSize, "collection size");
+            if (primitiveBacked != null) {
+                return primitiveBacked.apply(size);
+            }
+            final Collection<Object> collection = factory.apply(size);
+            for (int i = 0; i < size; i++) {
+                collection.add(elements.get());
+            }
+            return collection;
+        };
+    }
 
-    Supplier<?> getFactoryForClass(final Class<?> type) {
-        return getFactoryForClass.get(getClassType(type)).apply(type);
+    private Supplier<Object> factoryForMap(final IntFunction<Map<Object, Object>> factory, final Supplier<?> keys,
+                                      final Supplier<?> values) {
+        return () -> {
+            final int size = nextSize(collectionSize, "collection size");
+            final Map<Object, Object> map = factory.apply(size);
+            for (int i = 0; i < size; i++) {
+                map.put(keys.get(), values.get());
+            }
+            return map;
+        };
+    }
+
+    private static Class<?> erasure(final Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        if (type instanceof WildcardType) {
+            return erasure(((WildcardType) type).getUpperBounds()[0]);
+        }
+        if (type instanceof TypeVariable) {
+            return erasure(((TypeVariable<?>) type).getBounds()[0]);
+        }
+        if (type instanceof GenericArrayType) {
+            return Array.newInstance(erasure(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+        }
+        throw new IllegalArgumentException("cannot erase type " + type);
+    }
+
+    /**
+     * @param length the length of every array or collection, at least 1
+     * @return a length policy
+     */
+    static IntSupplier fixedLength(final int length) {
+        //values of a field must differ between two instances, and any two empty arrays or collections are equal
+        if (length < 1) {
+            throw new IllegalArgumentException("length must be at least 1 to tell instances apart, found " + length);
+        }
+        return () -> length;
+    }
+
+    /**
+     * @param minLength the shortest length, at least 1
+     * @param maxLength one more than the longest length
+     * @return a length policy drawing lengths uniformly
+     */
+    static IntSupplier lengthBetween(final int minLength, final int maxLength) {
+        if (minLength < 1 || minLength >= maxLength) {
+            throw new IllegalArgumentException("lengths must be a non-empty range of lengths of at least 1, found ["
+                                               + minLength + ", " + maxLength + ")");
+        }
+        return () -> randomInt(minLength, maxLength);
     }
 
-    private ClassType getClassType(final Class<?> type) {
+    private static ClassType getClassType(final Class<?> type) {
         if (SUPPLIERS_FOR_STANDARD_TYPES.containsKey(type)) {
             return ClassType.STANDARD;
         }
@@ -175,6 +323,9 @@ class AbstractTester {
             }
             return ClassType.ENUM;
         }
+        if (type.isArray()) {
+            return ClassType.ARRAY;
+        }
         if (!Modifier.isFinal(type.getModifiers())) {
             return ClassType.NON_FINAL;
         }
@@ -187,83 +338,147 @@ class AbstractTester {
         //Integer/int
         factories.put(int.class, INTEGER_FACTORY);
         factories.put(Integer.class, factories.get(int.class));
-        factories.put(int[].class, INT_ARRAY_FACTORY);
-        factories.put(Integer[].class, INTEGER_ARRAY_FACTORY);
 
         factories.put(short.class, SHORT_FACTORY);
         factories.put(Short.class, factories.get(short.class));
-        factories.put(short[].class, PRIMITIVE_SHORT_ARRAY_FACTORY);
-        factories.put(Short[].class, SHORT_ARRAY_FACTORY);
 
         factories.put(long.class, LONG_FACTORY);
         factories.put(Long.class, factories.get(long.class));
-        factories.put(long[].class, PRIMITIVE_LONG_ARRAY_FACTORY);
-        factories.put(Long[].class, LONG_ARRAY_FACTORY);
 
         factories.put(double.class, DOUBLE_FACTORY);
         factories.put(Double.class, factories.get(double.class));
-        factories.put(double[].class, PRIMITIVE_DOUBLE_ARRAY_FACTORY);
-        factories.put(Double[].class, DOUBLE_ARRAY_FACTORY);
 
         factories.put(float.class, FLOAT_FACTORY);
         factories.put(Float.class, factories.get(float.class));
-        factories.put(float[].class, PRIMITIVE_FLOAT_ARRAY_FACTORY);
-        factories.put(Float[].class, FLOAT_ARRAY_FACTORY);
 
         factories.put(boolean.class, BOOLEAN_FACTORY);
         factories.put(Boolean.class, factories.get(boolean.class));
-        factories.put(boolean[].class, PRIMITIVE_BOOLEAN_ARRAY_FACTORY);
-        factories.put(Boolean[].class, BOOLEAN_ARRAY_FACTORY);
 
         factories.put(char.class, CHARACTER_FACTORY);
         factories.put(Character.class, factories.get(char.class));
-        factories.put(char[].class, PRIMITIVE_CHAR_ARRAY_FACTORY);
-        factories.put(Character[].class, CHARACTER_ARRAY_FACTORY);
 
         factories.put(byte.class, BYTE_FACTORY);
         factories.put(Byte.class, factories.get(byte.class));
-        factories.put(byte[].class, PRIMITIVE_BYTE_ARRAY_FACTORY);
-        factories.put(Byte[].class, BYTE_ARRAY_FACTORY);
 
         factories.put(String.class, STRING_FACTORY);
-        factories.put(String[].class, STRING_ARRAY_FACTORY);
+
+        //dates and times
+        factories.put(Date.class, DistinctSupplier.of(Randoms::randomDate));
+        factories.put(Instant.class, DistinctSupplier.of(Randoms::randomInstant));
+        factories.put(LocalDate.class, DistinctSupplier.of(Randoms::randomLocalDate));
+        factories.put(LocalTime.class, DistinctSupplier.of(Randoms::randomLocalTime));
+        factories.put(LocalDateTime.class, DistinctSupplier.of(Randoms::randomLocalDateTime));
+        factories.put(OffsetDateTime.class, DistinctSupplier.of(Randoms::randomOffsetDateTime));
+        factories.put(ZonedDateTime.class, DistinctSupplier.of(Randoms::randomZonedDateTime));
+        factories.put(ZoneOffset.class, DistinctSupplier.of(Randoms::randomZoneOffset));
+        factories.put(Duration.class, DistinctSupplier.of(Randoms::randomDuration));
+
+        factories.put(UUID.class, DistinctSupplier.of(Randoms::randomUUID));
+        factories.put(BigInteger.class, DistinctSupplier.of(Randoms::randomBigInteger));
+        factories.put(BigDecimal.class, DistinctSupplier.of(Randoms::randomBigDecimal));
 
         return factories;
     }
 
-    private static Supplier<?> factoryFor(final Class<?> sClass) {
-        return () -> mock(sClass);
+    private static Map<Class<?>, IntFunction<?>> createPrimitiveArrayFactories() {
+        final Map<Class<?>, IntFunction<?>> factories = new HashMap<>();
+        factories.put(int.class, length -> ints(length, 0, Integer.MAX_VALUE));
+        factories.put(short.class, Randoms::shorts);
+        factories.put(long.class, Randoms::longs);
+        factories.put(double.class, length -> doubles(length, Double.MIN_VALUE, Double.MAX_VALUE));
+        factories.put(float.class, Randoms::floats);
+        factories.put(boolean.class, Randoms::booleans);
+        factories.put(char.class, Randoms::chars);
+        factories.put(byte.class, Randoms::bytes);
+        return factories;
     }
 
-    private static Supplier<?> factoryForEnum(final Class<?> sClass) {
-        return new Supplier<Object>() {
+    private static Map<Class<?>, IntFunction<Collection<Object>>> createCollectionFactories() {
+        final Map<Class<?>, IntFunction<Collection<Object>>> factories = new HashMap<>();
+        factories.put(Iterable.class, ArrayList::new);
+        factories.put(Collection.class, ArrayList::new);
+        factories.put(List.class, ArrayList::new);
+        factories.put(ArrayList.class, ArrayList::new);
+        factories.put(Set.class, size -> new HashSet<>(hashCapacity(size)));
+        factories.put(HashSet.class, size -> new HashSet<>(hashCapacity(size)));
+        factories.put(LinkedHashSet.class, size -> new LinkedHashSet<>(hashCapacity(size)));
+        return factories;
+    }
 
-            private final Object[] ss = sClass.getEnumConstants();
-            private final CyclicIndex index = new CyclicIndex(ss.length);
+    private static Map<Class<?>, IntFunction<Map<Object, Object>>> createMapFactories() {
+        final Map<Class<?>, IntFunction<Map<Object, Object>>> factories = new HashMap<>();
+        factories.put(Map.class, size -> new HashMap<>(hashCapacity(size)));
+        factories.put(HashMap.class, size -> new HashMap<>(hashCapacity(size)));
+        factories.put(LinkedHashMap.class, size -> new LinkedHashMap<>(hashCapacity(size)));
+        return factories;
+    }
 
-            @Override
-            public Object get() {
-                return ss[index.next()];
-            }
-        };
+    private static Map<Class<?>, IntFunction<List<?>>> createPrimitiveBackedLists() {
+        final Map<Class<?>, IntFunction<List<?>>> factories = new HashMap<>();
+        factories.put(Integer.class, size -> PintoCollections.immutableList(ints(size, 0, Integer.MAX_VALUE)));
+        factories.put(Long.class, size -> PintoCollections.immutableList(longs(size)));
+        factories.put(Double.class, size -> PintoCollections.immutableList(doubles(size, Double.MIN_VALUE, Double.MAX_VALUE)));
+        return factories;
     }
 
-    void addSuppliers(Map<Class<?>, Supplier<?>> extraFactories) {
-        this.suppliersForNonStandardTypes.putAll(extraFactories);
+    //room for size entries without rehashing
+    private static int hashCapacity(final int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+
+    private static Supplier<?> factoryFor(final Class<?> sClass) {
+        return new InstanceSupplier(sClass, AbstractTester::sharedSupplierOrNull);
+    }
+
+    //the supplier all testers share for the type, null for types that get values per tester or cannot get any
+    private static Supplier<?> sharedSupplierOrNull(final Class<?> type) {
+        final ClassType classType;
+        try {
+            classType = CLASS_TYPES.get(type);
+        } catch (final IllegalArgumentException e) {
+            return null;
+        }
+        return classType == ClassType.ARRAY || classType == ClassType.OTHER ? null : SHARED_SUPPLIERS.get(type);
     }
 
-    private static <T> Predicate<T> doesNotEqual(final T number)
-    {
-        return i -> PintoObjects.isNotEqual(i, number);
+    /**
+     * cycles through the enum's constants, each thread keeping its own place in the cycle so that consecutive values
+     * on a thread always differ, however many testers share the supplier. the place is kept per source, see
+     * {@link SourceLocal}, and starts at a constant drawn from the source, so that every session starts somewhere
+     * else while a seeded run gives the same constants whatever ran before it.
+     */
+    private static Supplier<?> factoryForEnum(final Class<?> sClass) {
+        final Object[] constants = sClass.getEnumConstants();
+        final SourceLocal<int[]> next = new SourceLocal<>(() -> new int[]{Randoms.nextInt(0, constants.length)});
+        return () -> {
+            final int[] place = next.get();
+            final Object constant = constants[place[0]];
+            place[0] = (place[0] + 1) % constants.length;
+            return constant;
+        };
     }
 
-    private static Predicate<Boolean> doesNotEqual(final boolean flag)
-    {
-        return i -> PintoObjects.isNotEqual(i, flag);
+    void addSuppliers(Map<Class<?>, Supplier<?>> extraFactories) {
+        this.suppliersForNonStandardTypes.putAll(extraFactories);
     }
 
-    private static Predicate<Character> doesNotEqual(final char c)
-    {
-        return i -> PintoObjects.isNotEqual(i, c);
+    /**
+     * runs the work in a {@link RandomSession}, so that all values it draws can be reproduced. failures carry the
+     * seed that was used, pass it to the builder's withSeed to replay the exact same run.
+     *
+     * @param seed the seed to use, or null for a fresh one
+     * @param work the work to run
+     * @param <R>  the result type
+     * @return whatever the work returned
+     */
+    static <R> R inSession(final Long seed, final Callable<R> work) {
+        final RandomSession session = seed == null ? RandomSession.random() : RandomSession.seeded(seed);
+        try {
+            return session.call(work);
+        } catch (final RuntimeException | Error e) {
+            e.addSuppressed(new IllegalStateException(String.format(
+                    "random values were drawn from seed %d, use withSeed(%dL) to replay", session.seed(), session.seed())));
+            throw e;
+        }
     }
 }
@@ -0,0 +1,91 @@
+package com.codebreeze.testing;
+
+import java.util.Objects;
+
+/**
+ * Vose's alias method: n weights become n columns of equal height, each split between its own index and at most one
+ * alias, so drawing a weighted index costs one bounded draw to pick a column and one double to pick its side.
+ */
+final class AliasTable
+{
+    private final double[] probability;
+    private final int[] alias;
+
+    AliasTable(final double[] weights)
+    {
+        Objects.requireNonNull(weights, "weights cannot be null");
+        final int n = weights.length;
+        if (n == 0)
+        {
+            throw new IllegalArgumentException("at least one weight is needed");
+        }
+        double sum = 0.0;
+        for (final double weight : weights)
+        {
+            if (!(weight >= 0.0) || Double.isInfinite(weight))
+            {
+                throw new IllegalArgumentException("weights must be finite and not negative, found " + weight);
+            }
+            sum += weight;
+        }
+        if (!(sum > 0.0) || Double.isInfinite(sum))
+        {
+            throw new IllegalArgumentException("weights must have a positive, finite sum, found " + sum);
+        }
+        probability = new double[n];
+        alias = new int[n];
+        final double[] scaled = new double[n];
+        //both work lists live in one array, small ones fill it from the front and large ones from the back
+        final int[] work = new int[n];
+        int small = 0;
+        int large = n;
+        for (int i = 0; i < n; i++)
+        {
+            scaled[i] = weights[i] * n / sum;
+            if (scaled[i] < 1.0)
+            {
+                work[small++] = i;
+            }
+            else
+            {
+                work[--large] = i;
+            }
+        }
+        while (small > 0 && large < n)
+        {
+            final int less = work[--small];
+            final int more = work[large++];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0)
+            {
+                work[small++] = more;
+            }
+            else
+            {
+                work[--large] = more;
+            }
+        }
+        //whatever is left is a full column, up to rounding
+        while (large < n)
+        {
+            probability[work[large++]] = 1.0;
+        }
+        while (small > 0)
+        {
+            probability[work[--small]] = 1.0;
+        }
+    }
+
+    int size()
+    {
+        return probability.length;
+    }
+
+    int next(final RandomSource random)
+    {
+        final int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+}
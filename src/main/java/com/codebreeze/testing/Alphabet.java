@@ -0,0 +1,203 @@
+package com.codebreeze.testing;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * A precomputed table of the chars a random string may contain, so that every char of the string costs exactly one
+ * bounded draw. Alphabets compiled from custom char sets are cached and reused across calls.
+ */
+public final class Alphabet
+{
+    //custom alphabets are cached until there are this many, then compiled per call
+    private static final int MAX_CACHED = 1024;
+    private static final ConcurrentMap<Object, Alphabet> CACHE = new ConcurrentHashMap<>();
+
+    public static final Alphabet NUMERIC = ofRange('0', '9' + 1, false, false);
+    public static final Alphabet ALPHABETIC = ofRange(' ', 'z' + 1, true, false);
+    public static final Alphabet ALPHANUMERIC = ofRange(' ', 'z' + 1, true, true);
+    public static final Alphabet ASCII = ofRange(32, 127, false, false);
+
+    private final char[] chars;
+    private final boolean hasSurrogates;
+    private final boolean onlySurrogates;
+    //surrogates are written as pairs of a high and a low one that are both in the alphabet
+    private final char[] highSurrogates;
+    private final char[] lowSurrogates;
+
+    private Alphabet(final char[] chars)
+    {
+        if (chars.length == 0)
+        {
+            throw new IllegalArgumentException("an alphabet needs at least one char");
+        }
+        this.chars = chars;
+        final StringBuilder highs = new StringBuilder();
+        final StringBuilder lows = new StringBuilder();
+        for (final char c : chars)
+        {
+            if (Character.isHighSurrogate(c))
+            {
+                highs.append(c);
+            }
+            else if (Character.isLowSurrogate(c))
+            {
+                lows.append(c);
+            }
+        }
+        this.highSurrogates = highs.toString().toCharArray();
+        this.lowSurrogates = lows.toString().toCharArray();
+        this.hasSurrogates = highs.length() + lows.length() > 0;
+        this.onlySurrogates = highs.length() + lows.length() == chars.length;
+    }
+
+    public static Alphabet of(final String chars)
+    {
+        Objects.requireNonNull(chars, "chars cannot be null");
+        return cached(chars, () -> new Alphabet(chars.toCharArray()));
+    }
+
+    public static Alphabet of(final char... chars)
+    {
+        Objects.requireNonNull(chars, "chars cannot be null");
+        return of(new String(chars));
+    }
+
+    /**
+     * @param start   first char, inclusive
+     * @param end     last char, exclusive
+     * @param letters keep the letters of the range
+     * @param numbers keep the digits of the range
+     * @return the chars of the range passing the filters, all of them if neither filter is set
+     */
+    static Alphabet ofRange(final int start, final int end, final boolean letters, final boolean numbers)
+    {
+        return cached(Arrays.asList(start, end, letters, numbers), () ->
+        {
+            final StringBuilder sb = new StringBuilder();
+            for (int c = Math.max(start, 0); c < Math.min(end, Character.MAX_VALUE + 1); c++)
+            {
+                if (accepts((char) c, letters, numbers))
+                {
+                    sb.append((char) c);
+                }
+            }
+            return new Alphabet(checkNotEmpty(sb, start, end).toString().toCharArray());
+        });
+    }
+
+    /**
+     * @return the chars of chars[start, end) passing the filters, all of them if neither filter is set
+     */
+    static Alphabet ofChars(final char[] chars, final int start, final int end, final boolean letters, final boolean numbers)
+    {
+        if (!letters && !numbers)
+        {
+            return of(new String(chars, start, end - start));
+        }
+        final StringBuilder sb = new StringBuilder(end - start);
+        for (int i = start; i < end; i++)
+        {
+            if (accepts(chars[i], letters, numbers))
+            {
+                sb.append(chars[i]);
+            }
+        }
+        return of(checkNotEmpty(sb, start, end).toString());
+    }
+
+    private static boolean accepts(final char c, final boolean letters, final boolean numbers)
+    {
+        return letters && Character.isLetter(c) || numbers && Character.isDigit(c) || !letters && !numbers;
+    }
+
+    private static StringBuilder checkNotEmpty(final StringBuilder sb, final int start, final int end)
+    {
+        if (sb.length() == 0)
+        {
+            throw new IllegalArgumentException("no char in [" + start + ", " + end + ") passes the letters/numbers filter");
+        }
+        return sb;
+    }
+
+    private static Alphabet cached(final Object key, final Supplier<Alphabet> compiler)
+    {
+        final Alphabet alphabet = CACHE.get(key);
+        if (alphabet != null)
+        {
+            return alphabet;
+        }
+        if (CACHE.size() >= MAX_CACHED)
+        {
+            return compiler.get();
+        }
+        return CACHE.computeIfAbsent(key, k -> compiler.get());
+    }
+
+    public int size()
+    {
+        return chars.length;
+    }
+
+    public char charAt(final int index)
+    {
+        return chars[index];
+    }
+
+    /**
+     * @param count the length of the string
+     * @return a string of chars drawn uniformly from this alphabet
+     */
+    public String randomString(final int count)
+    {
+        return randomString(count, Randoms.source());
+    }
+
+    String randomString(final int count, final RandomSource random)
+    {
+        if (count < 0)
+        {
+            throw new IllegalArgumentException("Requested randomString string length " + count + " is less than 0.");
+        }
+        final char[] buffer = new char[count];
+        fill(buffer, random);
+        return new String(buffer);
+    }
+
+    private void fill(final char[] buffer, final RandomSource random)
+    {
+        final int size = chars.length;
+        final boolean pairs = highSurrogates.length > 0 && lowSurrogates.length > 0;
+        if (onlySurrogates && buffer.length > 0 && (buffer.length % 2 != 0 || !pairs))
+        {
+            throw new IllegalArgumentException("an alphabet of surrogates only can produce an even number of chars, "
+                                               + "and only if it has both high and low surrogates");
+        }
+        if (!hasSurrogates)
+        {
+            for (int i = 0; i < buffer.length; i++)
+            {
+                buffer[i] = chars[random.nextInt(size)];
+            }
+            return;
+        }
+        int i = 0;
+        while (i < buffer.length)
+        {
+            final char ch = chars[random.nextInt(size)];
+            if (!Character.isSurrogate(ch))
+            {
+                buffer[i++] = ch;
+            }
+            else if (pairs && i + 1 < buffer.length)
+            {
+                // a lone surrogate is not text, write a pair of surrogates from the alphabet instead
+                buffer[i++] = highSurrogates[random.nextInt(highSurrogates.length)];
+                buffer[i++] = lowSurrogates[random.nextInt(lowSurrogates.length)];
+            }
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.codebreeze.testing;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.IntPredicate;
+
+/**
+ * A set of code points stored as sorted ranges, so a uniformly random member costs one bounded draw and a binary
+ * search over the ranges. Tables for Unicode categories, blocks and scripts are built once and cached.
+ */
+public final class CodePointTable
+{
+    private static final ConcurrentMap<Object, CodePointTable> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * every char that is not a surrogate
+     */
+    public static final CodePointTable BMP = ofRanges(0x0000, 0xD7FF, 0xE000, 0xFFFF);
+
+    /**
+     * every Unicode scalar value, i.e. all code points but the surrogates
+     */
+    public static final CodePointTable ALL = ofRanges(0x0000, 0xD7FF, 0xE000, Character.MAX_CODE_POINT);
+
+    /**
+     * the Char production of XML 1.0: #x9 | #xA | #xD | [#x20-#xD7FF] | [#xE000-#xFFFD] | [#x10000-#x10FFFF]
+     */
+    public static final CodePointTable XML_1_0 = ofRanges(0x9, 0xA, 0xD, 0xD, 0x20, 0xD7FF, 0xE000, 0xFFFD,
+                                                          0x10000, Character.MAX_CODE_POINT);
+
+    /**
+     * the Char production of XML 1.1: [#x1-#xD7FF] | [#xE000-#xFFFD] | [#x10000-#x10FFFF]
+     */
+    public static final CodePointTable XML_1_1 = ofRanges(0x1, 0xD7FF, 0xE000, 0xFFFD, 0x10000, Character.MAX_CODE_POINT);
+
+    //starts[i] is the first code point of range i, offsets[i] the rank of that code point within the table
+    private final int[] starts;
+    private final int[] offsets;
+    private final int[] ends;
+    private final int size;
+
+    private CodePointTable(final int[] starts, final int[] ends)
+    {
+        this.starts = starts;
+        this.ends = ends;
+        this.offsets = new int[starts.length];
+        int total = 0;
+        for (int i = 0; i < starts.length; i++)
+        {
+            offsets[i] = total;
+            total += ends[i] - starts[i] + 1;
+        }
+        this.size = total;
+    }
+
+    /**
+     * @param bounds pairs of inclusive start and end code points, ascending and not overlapping
+     * @return a table of all code points in the ranges
+     */
+    public static CodePointTable ofRanges(final int... bounds)
+    {
+        Objects.requireNonNull(bounds, "bounds cannot be null");
+        if (bounds.length == 0 || bounds.length % 2 != 0)
+        {
+            throw new IllegalArgumentException("bounds must be a non-empty list of start and end pairs");
+        }
+        final int[] starts = new int[bounds.length / 2];
+        final int[] ends = new int[bounds.length / 2];
+        int previousEnd = -1;
+        for (int i = 0; i < starts.length; i++)
+        {
+            starts[i] = bounds[2 * i];
+            ends[i] = bounds[2 * i + 1];
+            if (starts[i] <= previousEnd || ends[i] < starts[i] || ends[i] > Character.MAX_CODE_POINT)
+            {
+                throw new IllegalArgumentException("ranges must be ascending, non-overlapping code point ranges, "
+                                                   + "found [" + starts[i] + ", " + ends[i] + "]");
+            }
+            previousEnd = ends[i];
+        }
+        return new CodePointTable(starts, ends);
+    }
+
+    /**
+     * @param type a general category, one of the {@link Character#getType(int)} constants
+     * @return the code points of that category
+     */
+    public static CodePointTable forType(final int type)
+    {
+        return CACHE.computeIfAbsent(type, key -> matching(codePoint -> Character.getType(codePoint) == type,
+                                                           "general category " + type));
+    }
+
+    public static CodePointTable forBlock(final Character.UnicodeBlock block)
+    {
+        Objects.requireNonNull(block, "block cannot be null");
+        return CACHE.computeIfAbsent(block, key -> matching(codePoint -> Character.UnicodeBlock.of(codePoint) == block,
+                                                            "block " + block));
+    }
+
+    public static CodePointTable forScript(final Character.UnicodeScript script)
+    {
+        Objects.requireNonNull(script, "script cannot be null");
+        return CACHE.computeIfAbsent(script, key -> matching(codePoint -> Character.UnicodeScript.of(codePoint) == script,
+                                                             "script " + script));
+    }
+
+    /**
+     * @param script the script
+     * @return the code points of the script that are letters
+     */
+    public static CodePointTable lettersOf(final Character.UnicodeScript script)
+    {
+        Objects.requireNonNull(script, "script cannot be null");
+        return CACHE.computeIfAbsent(Arrays.asList(script, "letters"),
+                                     key -> matching(codePoint -> Character.isLetter(codePoint)
+                                                                  && Character.UnicodeScript.of(codePoint) == script,
+                                                     "letters of script " + script));
+    }
+
+    private static CodePointTable matching(final IntPredicate predicate, final String description)
+    {
+        int[] starts = new int[64];
+        int[] ends = new int[64];
+        int ranges = 0;
+        int codePoint = 0;
+        while (codePoint <= Character.MAX_CODE_POINT)
+        {
+            if (!predicate.test(codePoint))
+            {
+                codePoint++;
+                continue;
+            }
+            final int start = codePoint;
+            while (codePoint < Character.MAX_CODE_POINT && predicate.test(codePoint + 1))
+            {
+                codePoint++;
+            }
+            if (ranges == starts.length)
+            {
+                starts = Arrays.copyOf(starts, ranges * 2);
+                ends = Arrays.copyOf(ends, ranges * 2);
+            }
+            starts[ranges] = start;
+            ends[ranges] = codePoint;
+            ranges++;
+            codePoint++;
+        }
+        if (ranges == 0)
+        {
+            throw new IllegalArgumentException("no code points found for " + description);
+        }
+        return new CodePointTable(Arrays.copyOf(starts, ranges), Arrays.copyOf(ends, ranges));
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * @param codePoint a code point
+     * @return how many members of this table are smaller than the code point
+     */
+    public int countBelow(final int codePoint)
+    {
+        final int range = Arrays.binarySearch(starts, codePoint);
+        if (range >= 0)
+        {
+            return offsets[range];
+        }
+        final int candidate = -range - 2;
+        if (candidate < 0)
+        {
+            return 0;
+        }
+        return offsets[candidate] + Math.min(codePoint, ends[candidate] + 1) - starts[candidate];
+    }
+
+    /**
+     * writes random members of this table as UTF-16 until the buffer is full. a supplementary code point needs two
+     * chars, so the last char is drawn from the BMP members when only one is left.
+     *
+     * @param buffer the buffer to fill
+     * @param random the source to draw from
+     */
+    void fill(final char[] buffer, final RandomSource random)
+    {
+        final int bmpSize = countBelow(Character.MIN_SUPPLEMENTARY_CODE_POINT);
+        if (bmpSize == 0 && buffer.length % 2 != 0)
+        {
+            throw new IllegalArgumentException("a table of supplementary code points only cannot fill an odd number of chars");
+        }
+        int i = 0;
+        while (i < buffer.length)
+        {
+            final int codePoint = i + 1 < buffer.length ? next(random) : codePointAt(random.nextInt(bmpSize));
+            i += Character.toChars(codePoint, buffer, i);
+        }
+    }
+
+    public boolean contains(final int codePoint)
+    {
+        final int range = Arrays.binarySearch(starts, codePoint);
+        if (range >= 0)
+        {
+            return true;
+        }
+        final int candidate = -range - 2;
+        return candidate >= 0 && codePoint <= ends[candidate];
+    }
+
+    /**
+     * @return a uniformly random member of this table
+     */
+    public int next()
+    {
+        return next(Randoms.source());
+    }
+
+    int next(final RandomSource source)
+    {
+        return codePointAt(source.nextInt(size));
+    }
+
+    /**
+     * @param rank a rank in [0, size)
+     * @return the code point with the given rank, in ascending order
+     */
+    int codePointAt(final int rank)
+    {
+        int low = 0;
+        int high = offsets.length - 1;
+        while (low < high)
+        {
+            final int middle = (low + high + 1) >>> 1;
+            if (offsets[middle] <= rank)
+            {
+                low = middle;
+            }
+            else
+            {
+                high = middle - 1;
+            }
+        }
+        return starts[low] + (rank - offsets[low]);
+    }
+}
@@ -0,0 +1,169 @@
+package com.codebreeze.testing;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Values that look random but never repeat: a counter is run through a keyed Feistel permutation of the domain, so
+ * the n-th value is a pure function of n and the sequence needs the same few words of memory whatever its length.
+ * Domains that are not a power of four in size are handled by cycle walking, re-encrypting until the value falls
+ * inside the domain. Sequences are safe to share between threads.
+ */
+public final class DistinctSequence implements LongSupplier
+{
+    private static final int ROUNDS = 6;
+    private static final int MAX_EXACT_ALPHANUMERIC_LENGTH = 10;
+
+    private final long start;
+    //the number of values, 0 standing for 2^64
+    private final long size;
+    private final int halfBits;
+    private final long halfMask;
+    private final long[] keys = new long[ROUNDS];
+    private final AtomicLong counter = new AtomicLong();
+
+    private DistinctSequence(final long start, final long size)
+    {
+        this.start = start;
+        this.size = size;
+        final int bits = size == 0L ? 64 : 64 - Long.numberOfLeadingZeros(size - 1L);
+        this.halfBits = Math.max(1, (bits + 1) / 2);
+        this.halfMask = halfBits == 32 ? 0xFFFFFFFFL : (1L << halfBits) - 1L;
+        final RandomSource random = Randoms.source();
+        for (int i = 0; i < ROUNDS; i++)
+        {
+            keys[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * @return every int exactly once, in random looking order
+     */
+    public static DistinctSequence ofInts()
+    {
+        return new DistinctSequence(Integer.MIN_VALUE, 1L << 32);
+    }
+
+    /**
+     * @param startInclusive the smallest value
+     * @param endExclusive   one more than the largest value
+     * @return every int of the range exactly once, in random looking order
+     */
+    public static DistinctSequence ofInts(final int startInclusive, final int endExclusive)
+    {
+        checkRange(startInclusive < endExclusive);
+        return new DistinctSequence(startInclusive, (long) endExclusive - startInclusive);
+    }
+
+    public static DistinctSequence ofLongs()
+    {
+        return new DistinctSequence(0L, 0L);
+    }
+
+    public static DistinctSequence ofLongs(final long startInclusive, final long endExclusive)
+    {
+        checkRange(startInclusive < endExclusive);
+        return new DistinctSequence(startInclusive, endExclusive - startInclusive);
+    }
+
+    /**
+     * strings of up to 10 chars come from a permutation of all 62^length alphanumeric strings. longer strings share
+     * a random prefix and are told apart by a permuted 10 char suffix, which still allows 62^10 distinct values.
+     *
+     * @param length the length of every string
+     * @return distinct alphanumeric strings
+     */
+    public static Supplier<String> ofAlphanumeric(final int length)
+    {
+        if (length < 1)
+        {
+            throw new IllegalArgumentException("length must be positive, found " + length);
+        }
+        final Alphabet alphabet = Alphabet.ALPHANUMERIC;
+        final int base = alphabet.size();
+        final int suffixLength = Math.min(length, MAX_EXACT_ALPHANUMERIC_LENGTH);
+        long size = 1L;
+        for (int i = 0; i < suffixLength; i++)
+        {
+            size *= base;
+        }
+        final DistinctSequence sequence = new DistinctSequence(0L, size);
+        final String prefix = alphabet.randomString(length - suffixLength);
+        return () ->
+        {
+            final char[] chars = new char[length];
+            prefix.getChars(0, prefix.length(), chars, 0);
+            long value = sequence.getAsLong();
+            for (int i = length - 1; i >= prefix.length(); i--)
+            {
+                chars[i] = alphabet.charAt((int) (value % base));
+                value /= base;
+            }
+            return new String(chars);
+        };
+    }
+
+    /**
+     * @return the number of distinct values, {@code 0} standing for 2^64
+     */
+    public long size()
+    {
+        return size;
+    }
+
+    /**
+     * @return the next value
+     * @throws IllegalStateException once every value of the domain has been returned
+     */
+    @Override
+    public long getAsLong()
+    {
+        final long index = counter.getAndIncrement();
+        if (size != 0L && Long.compareUnsigned(index, size) >= 0)
+        {
+            throw new IllegalStateException("all " + Long.toUnsignedString(size) + " values of the sequence were used");
+        }
+        return start + permute(index);
+    }
+
+    /**
+     * @return the next value of a sequence built by {@link #ofInts()} or {@link #ofInts(int, int)}
+     */
+    public int nextInt()
+    {
+        return (int) getAsLong();
+    }
+
+    long permute(final long index)
+    {
+        long x = index;
+        do
+        {
+            x = encrypt(x);
+        }
+        while (size != 0L && Long.compareUnsigned(x, size) >= 0);
+        return x;
+    }
+
+    private long encrypt(final long x)
+    {
+        long left = (x >>> halfBits) & halfMask;
+        long right = x & halfMask;
+        for (final long key : keys)
+        {
+            final long next = left ^ (RandomSource.mix64(right ^ key) & halfMask);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+
+    private static void checkRange(final boolean valid)
+    {
+        if (!valid)
+        {
+            throw new IllegalArgumentException("Start value must be smaller than end value.");
+        }
+    }
+}
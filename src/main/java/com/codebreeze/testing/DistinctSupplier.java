@@ -0,0 +1,111 @@
+package com.codebreeze.testing;
+
+import java.util.Objects;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+
+/**
+ * Random values that never equal the value handed out just before on the same thread. Each thread keeps its own
+ * previous value, so testers running in parallel never share or race on state, and nothing is locked. The previous
+ * value is kept per source, see {@link SourceLocal}, so a seeded run gives the same values whatever ran on the thread
+ * before it or inside it. The first value drawn from a source has nothing to differ from and is never redrawn.
+ * <p>
+ * Draws from a small domain may keep coming out equal to the previous value, think of sets of booleans. A bounded
+ * supplier gives up after a number of draws and, from then on, hands out values of its fallback instead.
+ *
+ * @param <T> the value type
+ */
+final class DistinctSupplier<T> implements Supplier<T>
+{
+    //stands for no previous value, so that the first draw on a source is never redrawn
+    private static final Object NONE = new Object();
+
+    private final Supplier<T> draw;
+    private final BiPredicate<Object, Object> same;
+    private final SourceLocal<Previous> previous = new SourceLocal<>(Previous::new);
+    private final int maxDraws;
+    private final Supplier<T> fallback;
+    private volatile boolean exhausted;
+
+    private DistinctSupplier(final Supplier<T> draw, final BiPredicate<Object, Object> same, final int maxDraws,
+                             final Supplier<T> fallback)
+    {
+        this.draw = draw;
+        this.same = same;
+        this.maxDraws = maxDraws;
+        this.fallback = fallback;
+    }
+
+    /**
+     * @param draw draws a random value, redrawn while it equals the previous one
+     * @param <T>  the value type
+     * @return the supplier
+     */
+    static <T> DistinctSupplier<T> of(final Supplier<T> draw)
+    {
+        Objects.requireNonNull(draw, "draw cannot be null");
+        return new DistinctSupplier<>(draw, Objects::equals, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * @param draw     draws a random value, redrawn while it equals the previous one
+     * @param maxDraws how many draws to try for a value that differs from the previous one
+     * @param fallback supplies all values once draw failed to give a differing value in maxDraws draws, it must
+     *                 never supply the same value twice in a row itself
+     * @param <T>      the value type
+     * @return the supplier
+     */
+    static <T> DistinctSupplier<T> bounded(final Supplier<T> draw, final int maxDraws, final Supplier<T> fallback)
+    {
+        return bounded(draw, Objects::equals, maxDraws, fallback);
+    }
+
+    /**
+     * @param draw     draws a random value, redrawn while it is the same as the previous one
+     * @param same     tells whether two values are the same, such as {@link Objects#deepEquals(Object, Object)} for
+     *                 arrays
+     * @param maxDraws how many draws to try for a value that differs from the previous one
+     * @param fallback supplies all values once draw failed to give a differing value in maxDraws draws
+     * @param <T>      the value type
+     * @return the supplier
+     */
+    static <T> DistinctSupplier<T> bounded(final Supplier<T> draw, final BiPredicate<Object, Object> same,
+                                           final int maxDraws, final Supplier<T> fallback)
+    {
+        Objects.requireNonNull(draw, "draw cannot be null");
+        Objects.requireNonNull(same, "same cannot be null");
+        Objects.requireNonNull(fallback, "fallback cannot be null");
+        if (maxDraws < 1)
+        {
+            throw new IllegalArgumentException("maxDraws must be at least 1, found " + maxDraws);
+        }
+        return new DistinctSupplier<>(draw, same, maxDraws, fallback);
+    }
+
+    @Override
+    public T get()
+    {
+        if (exhausted)
+        {
+            return fallback.get();
+        }
+        final Previous last = previous.get();
+        T value = draw.get();
+        for (int draws = 1; same.test(value, last.value); draws++)
+        {
+            if (draws == maxDraws)
+            {
+                exhausted = true;
+                return fallback.get();
+            }
+            value = draw.get();
+        }
+        last.value = value;
+        return value;
+    }
+
+    private static final class Previous
+    {
+        private Object value = NONE;
+    }
+}
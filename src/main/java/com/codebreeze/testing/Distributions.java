@@ -0,0 +1,381 @@
+package com.codebreeze.testing;
+
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Non-uniform distributions for fixtures that should look like real traffic: hot keys, bursty arrivals and long
+ * tails. Every generator does its setup once and then draws without allocating, from the calling thread's source.
+ */
+public final class Distributions
+{
+    //Marsaglia and Tsang's ziggurat tables, 128 layers for the normal and 256 for the exponential distribution
+    private static final double NORMAL_R = 3.442619855899;
+    private static final double NORMAL_V = 9.91256303526217e-3;
+    private static final long[] NORMAL_K = new long[128];
+    private static final double[] NORMAL_W = new double[128];
+    private static final double[] NORMAL_F = new double[128];
+
+    private static final double EXPONENTIAL_R = 7.697117470131487;
+    private static final double EXPONENTIAL_V = 3.949659822581572e-3;
+    private static final long[] EXPONENTIAL_K = new long[256];
+    private static final double[] EXPONENTIAL_W = new double[256];
+    private static final double[] EXPONENTIAL_F = new double[256];
+
+    //log(k!) for small k, Stirling's series beyond
+    private static final double[] LOG_FACTORIAL = new double[256];
+
+    static
+    {
+        final double m1 = 2147483648.0;
+        double dn = NORMAL_R;
+        double tn = dn;
+        final double q = NORMAL_V / Math.exp(-0.5 * dn * dn);
+        NORMAL_K[0] = (long) ((dn / q) * m1);
+        NORMAL_K[1] = 0L;
+        NORMAL_W[0] = q / m1;
+        NORMAL_W[127] = dn / m1;
+        NORMAL_F[0] = 1.0;
+        NORMAL_F[127] = Math.exp(-0.5 * dn * dn);
+        for (int i = 126; i >= 1; i--)
+        {
+            dn = Math.sqrt(-2.0 * Math.log(NORMAL_V / dn + Math.exp(-0.5 * dn * dn)));
+            NORMAL_K[i + 1] = (long) ((dn / tn) * m1);
+            tn = dn;
+            NORMAL_F[i] = Math.exp(-0.5 * dn * dn);
+            NORMAL_W[i] = dn / m1;
+        }
+
+        final double m2 = 4294967296.0;
+        double de = EXPONENTIAL_R;
+        double te = de;
+        final double qe = EXPONENTIAL_V / Math.exp(-de);
+        EXPONENTIAL_K[0] = (long) ((de / qe) * m2);
+        EXPONENTIAL_K[1] = 0L;
+        EXPONENTIAL_W[0] = qe / m2;
+        EXPONENTIAL_W[255] = de / m2;
+        EXPONENTIAL_F[0] = 1.0;
+        EXPONENTIAL_F[255] = Math.exp(-de);
+        for (int i = 254; i >= 1; i--)
+        {
+            de = -Math.log(EXPONENTIAL_V / de + Math.exp(-de));
+            EXPONENTIAL_K[i + 1] = (long) ((de / te) * m2);
+            te = de;
+            EXPONENTIAL_F[i] = Math.exp(-de);
+            EXPONENTIAL_W[i] = de / m2;
+        }
+
+        for (int k = 2; k < LOG_FACTORIAL.length; k++)
+        {
+            LOG_FACTORIAL[k] = LOG_FACTORIAL[k - 1] + Math.log(k);
+        }
+    }
+
+    private Distributions()
+    {
+        throw new UnsupportedOperationException(Distributions.class.getSimpleName() + " cannot be instantiated by design");
+    }
+
+    /**
+     * @param mean              the mean
+     * @param standardDeviation the standard deviation, not negative
+     * @return a normal distribution
+     */
+    public static DoubleSupplier gaussian(final double mean, final double standardDeviation)
+    {
+        checkNotNegative(standardDeviation, "standard deviation");
+        return () -> mean + standardDeviation * nextGaussian(Randoms.source());
+    }
+
+    /**
+     * @param mu    the mean of the logarithm
+     * @param sigma the standard deviation of the logarithm, not negative
+     * @return a log-normal distribution, e.g. response sizes or latencies
+     */
+    public static DoubleSupplier logNormal(final double mu, final double sigma)
+    {
+        checkNotNegative(sigma, "sigma");
+        return () -> Math.exp(mu + sigma * nextGaussian(Randoms.source()));
+    }
+
+    /**
+     * @param mean the mean, positive
+     * @return an exponential distribution, e.g. the gaps between independent arrivals
+     */
+    public static DoubleSupplier exponential(final double mean)
+    {
+        checkPositive(mean, "mean");
+        return () -> mean * nextExponential(Randoms.source());
+    }
+
+    /**
+     * @param scale the smallest value, positive
+     * @param shape the tail index, positive, smaller values give heavier tails
+     * @return a Pareto distribution
+     */
+    public static DoubleSupplier pareto(final double scale, final double shape)
+    {
+        checkPositive(scale, "scale");
+        checkPositive(shape, "shape");
+        final double inverseShape = 1.0 / shape;
+        return () -> scale / Math.pow(openUnit(Randoms.source()), inverseShape);
+    }
+
+    /**
+     * small means multiply uniforms, larger ones use Hormann's transformed rejection (PTRS) so the cost of a draw
+     * does not grow with the mean
+     *
+     * @param mean the mean, positive and at most {@code 2^30}
+     * @return a Poisson distribution, e.g. the number of events in a time window
+     */
+    public static IntSupplier poisson(final double mean)
+    {
+        checkPositive(mean, "mean");
+        if (mean > (1 << 30))
+        {
+            throw new IllegalArgumentException("mean cannot be more than " + (1 << 30) + ", found " + mean);
+        }
+        if (mean < 10.0)
+        {
+            final double limit = Math.exp(-mean);
+            return () ->
+            {
+                final RandomSource random = Randoms.source();
+                int k = 0;
+                double product = random.nextDouble();
+                while (product > limit)
+                {
+                    k++;
+                    product *= random.nextDouble();
+                }
+                return k;
+            };
+        }
+        final double logMean = Math.log(mean);
+        final double b = 0.931 + 2.53 * Math.sqrt(mean);
+        final double a = -0.059 + 0.02483 * b;
+        final double logInverseAlpha = Math.log(1.1239 + 1.1328 / (b - 3.4));
+        final double vr = 0.9277 - 3.6224 / (b - 2.0);
+        return () ->
+        {
+            final RandomSource random = Randoms.source();
+            while (true)
+            {
+                final double u = random.nextDouble() - 0.5;
+                final double v = openUnit(random);
+                final double us = 0.5 - Math.abs(u);
+                final long k = (long) Math.floor((2.0 * a / us + b) * u + mean + 0.43);
+                if (us >= 0.07 && v <= vr)
+                {
+                    return (int) k;
+                }
+                if (k < 0L || us < 0.013 && v > us)
+                {
+                    continue;
+                }
+                if (Math.log(v) + logInverseAlpha - Math.log(a / (us * us) + b)
+                    <= -mean + k * logMean - logFactorial(k))
+                {
+                    return (int) k;
+                }
+            }
+        };
+    }
+
+    /**
+     * rank k is drawn with probability proportional to {@code 1 / k^exponent}, by Hormann and Derflinger's
+     * rejection-inversion, which needs no table however many ranks there are
+     *
+     * @param ranks    the number of ranks, positive
+     * @param exponent the skew, positive, around 1 for typical hot key behaviour
+     * @return ranks in [1, ranks], rank 1 being the most likely
+     */
+    public static IntSupplier zipf(final int ranks, final double exponent)
+    {
+        final Zipf zipf = new Zipf(ranks, exponent);
+        return () -> (int) zipf.next(Randoms.source());
+    }
+
+    public static LongSupplier zipf(final long ranks, final double exponent)
+    {
+        final Zipf zipf = new Zipf(ranks, exponent);
+        return () -> zipf.next(Randoms.source());
+    }
+
+    /**
+     * @param random the source to draw from
+     * @return a standard normal value
+     */
+    static double nextGaussian(final RandomSource random)
+    {
+        //the layer comes from the low bits and the value from the high bits, so the two are not correlated
+        long bits = random.nextLong();
+        int layer = (int) (bits & 127L);
+        int hz = (int) (bits >>> 32);
+        while (true)
+        {
+            final double x = hz * NORMAL_W[layer];
+            if (Math.abs((long) hz) < NORMAL_K[layer])
+            {
+                return x;
+            }
+            if (layer == 0)
+            {
+                double tailX;
+                double tailY;
+                do
+                {
+                    tailX = -Math.log(openUnit(random)) / NORMAL_R;
+                    tailY = -Math.log(openUnit(random));
+                }
+                while (tailY + tailY < tailX * tailX);
+                return hz > 0 ? NORMAL_R + tailX : -NORMAL_R - tailX;
+            }
+            if (NORMAL_F[layer] + random.nextDouble() * (NORMAL_F[layer - 1] - NORMAL_F[layer]) < Math.exp(-0.5 * x * x))
+            {
+                return x;
+            }
+            bits = random.nextLong();
+            layer = (int) (bits & 127L);
+            hz = (int) (bits >>> 32);
+        }
+    }
+
+    /**
+     * @param random the source to draw from
+     * @return an exponential value with mean 1
+     */
+    static double nextExponential(final RandomSource random)
+    {
+        long bits = random.nextLong();
+        int layer = (int) (bits & 255L);
+        long jz = bits >>> 32;
+        while (true)
+        {
+            if (jz < EXPONENTIAL_K[layer])
+            {
+                return jz * EXPONENTIAL_W[layer];
+            }
+            if (layer == 0)
+            {
+                return EXPONENTIAL_R - Math.log(openUnit(random));
+            }
+            final double x = jz * EXPONENTIAL_W[layer];
+            if (EXPONENTIAL_F[layer] + random.nextDouble() * (EXPONENTIAL_F[layer - 1] - EXPONENTIAL_F[layer]) < Math.exp(-x))
+            {
+                return x;
+            }
+            bits = random.nextLong();
+            layer = (int) (bits & 255L);
+            jz = bits >>> 32;
+        }
+    }
+
+    static double logFactorial(final long k)
+    {
+        if (k < LOG_FACTORIAL.length)
+        {
+            return LOG_FACTORIAL[(int) k];
+        }
+        final double x = k;
+        final double inverse = 1.0 / x;
+        final double inverseSquared = inverse * inverse;
+        return x * Math.log(x) - x + 0.5 * Math.log(2.0 * Math.PI * x)
+               + inverse * (1.0 / 12.0 - inverseSquared * (1.0 / 360.0 - inverseSquared / 1260.0));
+    }
+
+    //a double in (0, 1], safe to take the logarithm of or to divide by
+    private static double openUnit(final RandomSource random)
+    {
+        return 1.0 - random.nextDouble();
+    }
+
+    private static void checkPositive(final double value, final String name)
+    {
+        if (!(value > 0.0) || Double.isInfinite(value))
+        {
+            throw new IllegalArgumentException(name + " must be positive and finite, found " + value);
+        }
+    }
+
+    private static void checkNotNegative(final double value, final String name)
+    {
+        if (!(value >= 0.0) || Double.isInfinite(value))
+        {
+            throw new IllegalArgumentException(name + " must be finite and not negative, found " + value);
+        }
+    }
+
+    private static final class Zipf
+    {
+        private final long ranks;
+        private final double exponent;
+        private final double hIntegralX1;
+        private final double hIntegralRanks;
+        private final double s;
+
+        Zipf(final long ranks, final double exponent)
+        {
+            if (ranks < 1L)
+            {
+                throw new IllegalArgumentException("ranks must be positive, found " + ranks);
+            }
+            checkPositive(exponent, "exponent");
+            this.ranks = ranks;
+            this.exponent = exponent;
+            this.hIntegralX1 = hIntegral(1.5) - 1.0;
+            this.hIntegralRanks = hIntegral(ranks + 0.5);
+            this.s = 2.0 - hIntegralInverse(hIntegral(2.5) - h(2.0));
+        }
+
+        long next(final RandomSource random)
+        {
+            while (true)
+            {
+                final double u = hIntegralRanks + random.nextDouble() * (hIntegralX1 - hIntegralRanks);
+                final double x = hIntegralInverse(u);
+                final long k = Math.max(1L, Math.min(ranks, (long) (x + 0.5)));
+                if (k - x <= s || u >= hIntegral(k + 0.5) - h(k))
+                {
+                    return k;
+                }
+            }
+        }
+
+        private double h(final double x)
+        {
+            return Math.exp(-exponent * Math.log(x));
+        }
+
+        private double hIntegral(final double x)
+        {
+            final double logX = Math.log(x);
+            return expm1OverX((1.0 - exponent) * logX) * logX;
+        }
+
+        private double hIntegralInverse(final double x)
+        {
+            final double t = Math.max(-1.0, x * (1.0 - exponent));
+            return Math.exp(log1pOverX(t) * x);
+        }
+
+        private static double log1pOverX(final double x)
+        {
+            if (Math.abs(x) > 1e-8)
+            {
+                return Math.log1p(x) / x;
+            }
+            return 1.0 - x * (0.5 - x * (1.0 / 3.0 - 0.25 * x));
+        }
+
+        private static double expm1OverX(final double x)
+        {
+            if (Math.abs(x) > 1e-8)
+            {
+                return Math.expm1(x) / x;
+            }
+            return 1.0 + x * 0.5 * (1.0 + x / 3.0 * (1.0 + 0.25 * x));
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.function.IntSupplier;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -39,7 +40,10 @@ public class EqualAndHashcodeTest<T> extends AbstractTester
                                  final Class<T> cutClass,
                                  final Set<String> includeFieldNames,
                                  final Set<String> excludeFieldNames,
-                                 final Map<Class<?>, Supplier<?>> nonStandardTypeSuppliers)
+                                 final Map<Class<?>, Supplier<?>> nonStandardTypeSuppliers,
+                                 final IntSupplier arrayLength,
+                                 final IntSupplier collectionSize,
+                                 final boolean primitiveBackedLists)
     {
         Objects.requireNonNull(cutClass, "CUT class cannot be null");
         Objects.requireNonNull(cutSupplier, "CUT supplier cannot be null");
@@ -67,6 +71,9 @@ public class EqualAndHashcodeTest<T> extends AbstractTester
             this.excludeFieldNames.addAll(excludeFieldNames);
         }
         addSuppliers(nonStandardTypeSuppliers);
+        setArrayLength(arrayLength);
+        setCollectionSize(collectionSize);
+        setPrimitiveBackedLists(primitiveBackedLists);
     }
 
     private void testSubclassesAreUnequal()
@@ -147,7 +154,7 @@ public class EqualAndHashcodeTest<T> extends AbstractTester
         }
         else
         {
-            final Supplier<?> factoryForField = getFactoryForClass(field.getType());
+            final Supplier<?> factoryForField = getFactoryForField(field);
             field.set(t1, factoryForField.get());
             field.set(t2, factoryForField.get());
         }
@@ -191,7 +198,7 @@ public class EqualAndHashcodeTest<T> extends AbstractTester
         {
             final T t1 = cutSupplier.get();
             field1.setAccessible(true);
-            final Supplier<?> factoryForField = getFactoryForClass(field1.getType());
+            final Supplier<?> factoryForField = getFactoryForField(field1);
             field1.set(t1, factoryForField.get());
             final Object firstValue = field1.get(t1);
             final int hashcodeBefore = t1.hashCode();
@@ -248,6 +255,10 @@ public class EqualAndHashcodeTest<T> extends AbstractTester
         private Map<Class<?>, Supplier<?>> nonStandardTypeSuppliers = new HashMap<>();
         //a cutSupplier that returns Equal but NOT the same values
         private Supplier<T> cutSupplier;
+        private Long seed;
+        private IntSupplier arrayLength;
+        private IntSupplier collectionSize;
+        private boolean primitiveBackedLists;
 
         private Builder()
         {
@@ -285,10 +296,103 @@ public class EqualAndHashcodeTest<T> extends AbstractTester
             return this;
         }
 
+        /**
+         * @param length the length of every array field value, and of every dimension of multi-dimensional ones, at
+         *               least 1 since two empty arrays are always equal
+         * @return this builder
+         */
+        public Builder<T> withArrayLength(final int length)
+        {
+            this.arrayLength = fixedLength(length);
+            return this;
+        }
+
+        /**
+         * @param minLength the shortest array length, at least 1
+         * @param maxLength one more than the longest array length
+         * @return this builder
+         */
+        public Builder<T> withArrayLength(final int minLength, final int maxLength)
+        {
+            this.arrayLength = lengthBetween(minLength, maxLength);
+            return this;
+        }
+
+        /**
+         * @param arrayLength draws the length of every array, for example from {@link Distributions#poisson(double)},
+         *                    drawing a length below 1 fails the verification
+         * @return this builder
+         */
+        public Builder<T> withArrayLength(final IntSupplier arrayLength)
+        {
+            this.arrayLength = Objects.requireNonNull(arrayLength, "array length policy cannot be null");
+            return this;
+        }
+
+        /**
+         * @param size the size of every collection and map field value, at least 1 since two empty collections
+         *             are always equal
+         * @return this builder
+         */
+        public Builder<T> withCollectionSize(final int size)
+        {
+            this.collectionSize = fixedLength(size);
+            return this;
+        }
+
+        /**
+         * @param minSize the smallest collection size, at least 1
+         * @param maxSize one more than the largest collection size
+         * @return this builder
+         */
+        public Builder<T> withCollectionSize(final int minSize, final int maxSize)
+        {
+            this.collectionSize = lengthBetween(minSize, maxSize);
+            return this;
+        }
+
+        /**
+         * @param collectionSize draws the size of every collection and map, drawing a size below 1 fails the
+         *                       verification
+         * @return this builder
+         */
+        public Builder<T> withCollectionSize(final IntSupplier collectionSize)
+        {
+            this.collectionSize = Objects.requireNonNull(collectionSize, "collection size policy cannot be null");
+            return this;
+        }
+
+        /**
+         * makes fields declared as a {@code List}, {@code Collection} or {@code Iterable} of {@code Integer},
+         * {@code Long} or {@code Double} get immutable lists backed by a primitive array, which saves boxing every
+         * element of large lists
+         *
+         * @return this builder
+         */
+        public Builder<T> withPrimitiveBackedLists()
+        {
+            this.primitiveBackedLists = true;
+            return this;
+        }
+
+        /**
+         * @param seed seed for all random field values, use the one reported by a failed run to replay it
+         * @return this builder
+         */
+        public Builder<T> withSeed(final long seed)
+        {
+            this.seed = seed;
+            return this;
+        }
+
         public void verify()
         {
             validateIncludeExcludeListsAreUsedExclusively();
-            new EqualAndHashcodeTest<>(cutSupplier, clazz, includeFieldNames, excludeFieldNames, nonStandardTypeSuppliers).verify();
+            inSession(seed, () ->
+            {
+                new EqualAndHashcodeTest<>(cutSupplier, clazz, includeFieldNames, excludeFieldNames, nonStandardTypeSuppliers, arrayLength, collectionSize, primitiveBackedLists).verify();
+                return null;
+            });
         }
 
         private void validateIncludeExcludeListsAreUsedExclusively()
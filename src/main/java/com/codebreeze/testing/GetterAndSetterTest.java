@@ -2,6 +2,7 @@ package com.codebreeze.testing;
 
 import java.lang.reflect.*;
 import java.util.*;
+import java.util.function.IntSupplier;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -28,12 +29,18 @@ public class GetterAndSetterTest<T> extends AbstractTester {
                                 final Set<String> includeFields,
                                 final Set<String> excludeFields,
                                 final Map<Class<?>, Supplier<?>> nonStandardSuppliers,
-                                final boolean strict) {
+                                final boolean strict,
+                                final IntSupplier arrayLength,
+                                final IntSupplier collectionSize,
+                                final boolean primitiveBackedLists) {
         this.clazz = clazz;
         this.cutSupplier = cutSupplier;
         this.includeFields.addAll(includeFields);
         this.excludeFields.addAll(excludeFields);
         addSuppliers(nonStandardSuppliers);
+        setArrayLength(arrayLength);
+        setCollectionSize(collectionSize);
+        setPrimitiveBackedLists(primitiveBackedLists);
         this.strict = strict;
     }
 
@@ -137,7 +144,7 @@ public class GetterAndSetterTest<T> extends AbstractTester {
     }
 
     private void testGetterAndSetter(final Field field, final Object instance) throws InvocationTargetException, IllegalAccessException {
-        final Object value = getValueForField(field.getType());
+        final Object value = getValueForField(field);
         final Method getter = getGetter(field);
         final Method setter = getSetter(field);
 
@@ -148,7 +155,7 @@ public class GetterAndSetterTest<T> extends AbstractTester {
     }
 
     private void testSetter(final Field field, final Object instance) throws IllegalAccessException, InvocationTargetException {
-        final Object value = getValueForField(field.getType());
+        final Object value = getValueForField(field);
         final Method setter = getSetter(field);
 
         setter.invoke(instance, value);
@@ -159,7 +166,7 @@ public class GetterAndSetterTest<T> extends AbstractTester {
     }
 
     private void testGetter(final Field field, final Object instance) throws IllegalAccessException, InvocationTargetException {
-        final Object value = getValueForField(field.getType());
+        final Object value = getValueForField(field);
         final Method getter = getGetter(field);
         field.setAccessible(true);
         field.set(instance, value);
@@ -168,8 +175,8 @@ public class GetterAndSetterTest<T> extends AbstractTester {
                 value, getter.invoke(instance));
     }
 
-    private Object getValueForField(final Class<?> clazz) {
-        return getFactoryForClass(clazz).get();
+    private Object getValueForField(final Field field) {
+        return getFactoryForField(field).get();
     }
 
 
@@ -200,6 +207,10 @@ public class GetterAndSetterTest<T> extends AbstractTester {
         //a cutSupplier that returns Equal but NOT the same values
         private Supplier<T> cutSupplier;
         private boolean strict = false;
+        private Long seed;
+        private IntSupplier arrayLength;
+        private IntSupplier collectionSize;
+        private boolean primitiveBackedLists;
 
         private Builder() {
         }
@@ -235,9 +246,92 @@ public class GetterAndSetterTest<T> extends AbstractTester {
             return this;
         }
 
+        /**
+         * @param length the length of every array field value, and of every dimension of multi-dimensional ones, at
+         *               least 1
+         * @return this builder
+         */
+        public Builder<T> withArrayLength(final int length) {
+            this.arrayLength = fixedLength(length);
+            return this;
+        }
+
+        /**
+         * @param minLength the shortest array length, at least 1
+         * @param maxLength one more than the longest array length
+         * @return this builder
+         */
+        public Builder<T> withArrayLength(final int minLength, final int maxLength) {
+            this.arrayLength = lengthBetween(minLength, maxLength);
+            return this;
+        }
+
+        /**
+         * @param arrayLength draws the length of every array, for example from {@link Distributions#poisson(double)},
+         *                    drawing a length below 1 fails
+         * @return this builder
+         */
+        public Builder<T> withArrayLength(final IntSupplier arrayLength) {
+            this.arrayLength = Objects.requireNonNull(arrayLength, "array length policy cannot be null");
+            return this;
+        }
+
+        /**
+         * @param size the size of every collection and map field value, at least 1
+         * @return this builder
+         */
+        public Builder<T> withCollectionSize(final int size) {
+            this.collectionSize = fixedLength(size);
+            return this;
+        }
+
+        /**
+         * @param minSize the smallest collection size, at least 1
+         * @param maxSize one more than the largest collection size
+         * @return this builder
+         */
+        public Builder<T> withCollectionSize(final int minSize, final int maxSize) {
+            this.collectionSize = lengthBetween(minSize, maxSize);
+            return this;
+        }
+
+        /**
+         * @param collectionSize draws the size of every collection and map, for example from
+         *                       {@link Distributions#poisson(double)}, drawing a size below 1 fails
+         * @return this builder
+         */
+        public Builder<T> withCollectionSize(final IntSupplier collectionSize) {
+            this.collectionSize = Objects.requireNonNull(collectionSize, "collection size policy cannot be null");
+            return this;
+        }
+
+        /**
+         * makes fields declared as a {@code List}, {@code Collection} or {@code Iterable} of {@code Integer},
+         * {@code Long} or {@code Double} get immutable lists backed by a primitive array, which saves boxing every
+         * element of large lists
+         *
+         * @return this builder
+         */
+        public Builder<T> withPrimitiveBackedLists() {
+            this.primitiveBackedLists = true;
+            return this;
+        }
+
+        /**
+         * @param seed seed for all random field values, use the one reported by a failed run to replay it
+         * @return this builder
+         */
+        public Builder<T> withSeed(final long seed) {
+            this.seed = seed;
+            return this;
+        }
+
         public void verify() {
             validateIncludeExcludeListsAreUsedExclusively();
-            new GetterAndSetterTest<>(clazz, cutSupplier, includeFieldNames, excludeFieldNames, nonStandardTypeSuppliers, strict).verify();
+            inSession(seed, () -> {
+                new GetterAndSetterTest<>(clazz, cutSupplier, includeFieldNames, excludeFieldNames, nonStandardTypeSuppliers, strict, arrayLength, collectionSize, primitiveBackedLists).verify();
+                return null;
+            });
         }
 
         private void validateIncludeExcludeListsAreUsedExclusively() {
@@ -0,0 +1,319 @@
+package com.codebreeze.testing;
+
+import org.mockito.stubbing.Answer;
+
+import java.io.File;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.chrono.ChronoLocalDate;
+import java.time.chrono.ChronoLocalDateTime;
+import java.time.chrono.ChronoZonedDateTime;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalAmount;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Timer;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Real instances of a non-final type, used instead of mocks wherever possible. Concrete classes are built through
+ * their no-args constructor, or else their shortest constructor whose parameters can all be supplied, and their
+ * non-final fields are filled with random values, nested objects included down to a fixed depth. JDK classes are
+ * only built through a no-args constructor, and resources such as streams, sockets and threads are never built but
+ * mocked, or left null where they cannot be mocked, so that building values never opens files or starts threads. A
+ * few JDK interfaces and abstract classes are answered with a well known concrete subtype.
+ * <p>
+ * Whether real instances work for a type is decided on first use by building two of them: if that fails, or the two
+ * come out equal, the type falls back to a small pool of mocks that is created once and cycled through.
+ */
+final class InstanceSupplier implements Supplier<Object>
+{
+    //nested objects deeper than this are left null, which also stops self-referencing types
+    private static final int MAX_DEPTH = 3;
+    private static final int MOCK_POOL_SIZE = 4;
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+    private static final Map<Class<?>, Class<?>> KNOWN_SUBTYPES = createKnownSubtypes();
+    //types whose instances hold files, connections or threads, java.net types are resources too
+    private static final List<Class<?>> RESOURCE_TYPES = Arrays.asList(AutoCloseable.class, File.class, Thread.class,
+                                                                       ThreadGroup.class, Timer.class, Executor.class,
+                                                                       Process.class, ClassLoader.class);
+
+    private final Class<?> type;
+    //gives the shared supplier of a type, or null when the type has none
+    private final Function<Class<?>, Supplier<?>> suppliers;
+    private volatile Supplier<?> decided;
+
+    InstanceSupplier(final Class<?> type, final Function<Class<?>, Supplier<?>> suppliers)
+    {
+        this.type = type;
+        this.suppliers = suppliers;
+    }
+
+    @Override
+    public Object get()
+    {
+        if (DEPTH.get()[0] >= MAX_DEPTH)
+        {
+            return null;
+        }
+        Supplier<?> supplier = decided;
+        if (supplier == null)
+        {
+            //two threads may both decide, they come to the same answer
+            supplier = decided = decide();
+        }
+        return supplier.get();
+    }
+
+    private Supplier<?> decide()
+    {
+        final Class<?> subtype = KNOWN_SUBTYPES.get(type);
+        if (subtype != null)
+        {
+            return suppliers.apply(subtype);
+        }
+        final Supplier<Object> mocks = mockPool(type);
+        if (isResource(type))
+        {
+            return () ->
+            {
+                try
+                {
+                    return mocks.get();
+                }
+                catch (final RuntimeException | LinkageError e)
+                {
+                    //resources are never built, so they are left null where the runtime does not let us mock them
+                    return null;
+                }
+            };
+        }
+        if (Modifier.isAbstract(type.getModifiers()))
+        {
+            return mocks;
+        }
+        final Supplier<Object> instances;
+        try
+        {
+            instances = synthesizer();
+        }
+        catch (final RuntimeException e)
+        {
+            //fields of modules that are not open to us
+            return mocks;
+        }
+        if (instances == null || !worksFor(instances))
+        {
+            return mocks;
+        }
+        return () ->
+        {
+            try
+            {
+                return instances.get();
+            }
+            catch (final RuntimeException e)
+            {
+                //random arguments can break a constructor's preconditions
+                return mocks.get();
+            }
+        };
+    }
+
+    /**
+     * builds two instances with nested objects left out, on a session of their own so that deciding draws nothing
+     * from the caller's random stream, and leaves the caller's {@link SourceLocal} state, such as the previous values
+     * of distinct suppliers, as it was
+     */
+    private static boolean worksFor(final Supplier<Object> instances)
+    {
+        final int[] depth = DEPTH.get();
+        final int saved = depth[0];
+        depth[0] = Math.max(saved, MAX_DEPTH - 1);
+        try
+        {
+            return RandomSession.seeded(0L).call(() -> !Objects.equals(instances.get(), instances.get()));
+        }
+        catch (final RuntimeException | LinkageError e)
+        {
+            return false;
+        }
+        finally
+        {
+            depth[0] = saved;
+        }
+    }
+
+    private Supplier<Object> synthesizer()
+    {
+        final Constructor<?> constructor = constructorFor(type);
+        if (constructor == null)
+        {
+            return null;
+        }
+        final List<Supplier<?>> arguments = new ArrayList<>();
+        for (final Class<?> parameterType : constructor.getParameterTypes())
+        {
+            arguments.add(suppliers.apply(parameterType));
+        }
+        final List<Field> fields = new ArrayList<>();
+        final List<Supplier<?>> values = new ArrayList<>();
+        //the internals of JDK classes are not ours to fill
+        if (!isJdkClass(type))
+        {
+            for (Class<?> c = type; c != Object.class; c = c.getSuperclass())
+            {
+                for (final Field field : c.getDeclaredFields())
+                {
+                    final Supplier<?> value = isFillable(field) ? suppliers.apply(field.getType()) : null;
+                    if (value != null)
+                    {
+                        field.setAccessible(true);
+                        fields.add(field);
+                        values.add(value);
+                    }
+                }
+            }
+        }
+        return () -> create(constructor, arguments, fields, values);
+    }
+
+    private static Object create(final Constructor<?> constructor, final List<Supplier<?>> arguments,
+                                 final List<Field> fields, final List<Supplier<?>> values)
+    {
+        final int[] depth = DEPTH.get();
+        depth[0]++;
+        try
+        {
+            final Object[] args = new Object[arguments.size()];
+            for (int i = 0; i < args.length; i++)
+            {
+                args[i] = arguments.get(i).get();
+            }
+            final Object instance = constructor.newInstance(args);
+            for (int i = 0; i < fields.size(); i++)
+            {
+                fields.get(i).set(instance, values.get(i).get());
+            }
+            return instance;
+        }
+        catch (final ReflectiveOperationException e)
+        {
+            throw PintoThrowables.propagate(e);
+        }
+        finally
+        {
+            depth[0]--;
+        }
+    }
+
+    /**
+     * @return the no-args constructor, or else the one with the fewest parameters that can all be supplied, or null,
+     *         which is also the answer for JDK classes without a no-args constructor since random arguments can make
+     *         them do anything
+     */
+    private Constructor<?> constructorFor(final Class<?> c)
+    {
+        final boolean jdkClass = isJdkClass(c);
+        final Constructor<?> constructor = Stream.of(c.getDeclaredConstructors())
+                                                 .filter(candidate -> !jdkClass || candidate.getParameterCount() == 0)
+                                                 .filter(candidate -> Stream.of(candidate.getParameterTypes())
+                                                                            .allMatch(p -> suppliers.apply(p) != null))
+                                                 .min(Comparator.comparingInt(Constructor::getParameterCount))
+                                                 .orElse(null);
+        if (constructor == null)
+        {
+            return null;
+        }
+        try
+        {
+            constructor.setAccessible(true);
+            return constructor;
+        }
+        catch (final RuntimeException e)
+        {
+            //constructors of modules that are not open to us
+            return Modifier.isPublic(constructor.getModifiers()) && Modifier.isPublic(c.getModifiers())
+                   ? constructor
+                   : null;
+        }
+    }
+
+    private static boolean isFillable(final Field field)
+    {
+        final int modifiers = field.getModifiers();
+        return !Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers) && !field.isSynthetic();
+    }
+
+    private static boolean isJdkClass(final Class<?> c)
+    {
+        final String name = c.getName();
+        return name.startsWith("java.") || name.startsWith("javax.");
+    }
+
+    private static boolean isResource(final Class<?> c)
+    {
+        return c.getName().startsWith("java.net.") || RESOURCE_TYPES.stream().anyMatch(r -> r.isAssignableFrom(c));
+    }
+
+    private static Supplier<Object> mockPool(final Class<?> type)
+    {
+        return mockPool(type, RETURNS_DEFAULTS);
+    }
+
+    /**
+     * mocks are created once per type, then handed out in turn, each thread keeping its own place so that
+     * consecutive mocks on a thread always differ
+     *
+     * @param answer how the mocks answer calls
+     */
+    static Supplier<Object> mockPool(final Class<?> type, final Answer<?> answer)
+    {
+        final AtomicReferenceArray<Object> pool = new AtomicReferenceArray<>(MOCK_POOL_SIZE);
+        final ThreadLocal<CyclicIndex> index = ThreadLocal.withInitial(() -> new CyclicIndex(MOCK_POOL_SIZE));
+        return () ->
+        {
+            final int i = index.get().next();
+            final Object mock = pool.get(i);
+            if (mock != null)
+            {
+                return mock;
+            }
+            //racing threads may each create one, the first to store it wins
+            pool.compareAndSet(i, null, mock(type, answer));
+            return pool.get(i);
+        };
+    }
+
+    private static Map<Class<?>, Class<?>> createKnownSubtypes()
+    {
+        final Map<Class<?>, Class<?>> subtypes = new HashMap<>();
+        subtypes.put(CharSequence.class, String.class);
+        subtypes.put(Number.class, BigDecimal.class);
+        subtypes.put(Temporal.class, Instant.class);
+        subtypes.put(TemporalAmount.class, Duration.class);
+        subtypes.put(ChronoLocalDate.class, LocalDate.class);
+        subtypes.put(ChronoLocalDateTime.class, LocalDateTime.class);
+        subtypes.put(ChronoZonedDateTime.class, ZonedDateTime.class);
+        return subtypes;
+    }
+}
@@ -38,6 +38,97 @@ class PintoCollections
         return Collections.unmodifiableSet(new PowerSet<>(requireNonNull(set)));
     }
 
+    /**
+     * @param values the elements, not copied
+     * @return an unmodifiable list over the array, elements are boxed only when read
+     */
+    static List<Integer> immutableList(final int[] values)
+    {
+        return new IntList(requireNonNull(values));
+    }
+
+    static List<Long> immutableList(final long[] values)
+    {
+        return new LongList(requireNonNull(values));
+    }
+
+    static List<Double> immutableList(final double[] values)
+    {
+        return new DoubleList(requireNonNull(values));
+    }
+
+    private static final class IntList
+            extends AbstractList<Integer>
+            implements RandomAccess
+    {
+        private final int[] values;
+
+        IntList(final int[] values)
+        {
+            this.values = values;
+        }
+
+        @Override
+        public Integer get(final int index)
+        {
+            return values[index];
+        }
+
+        @Override
+        public int size()
+        {
+            return values.length;
+        }
+    }
+
+    private static final class LongList
+            extends AbstractList<Long>
+            implements RandomAccess
+    {
+        private final long[] values;
+
+        LongList(final long[] values)
+        {
+            this.values = values;
+        }
+
+        @Override
+        public Long get(final int index)
+        {
+            return values[index];
+        }
+
+        @Override
+        public int size()
+        {
+            return values.length;
+        }
+    }
+
+    private static final class DoubleList
+            extends AbstractList<Double>
+            implements RandomAccess
+    {
+        private final double[] values;
+
+        DoubleList(final double[] values)
+        {
+            this.values = values;
+        }
+
+        @Override
+        public Double get(final int index)
+        {
+            return values[index];
+        }
+
+        @Override
+        public int size()
+        {
+            return values.length;
+        }
+    }
+
     private static final class PowerSet<E>
             extends AbstractSet<Set<E>>
     {
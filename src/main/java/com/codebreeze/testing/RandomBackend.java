@@ -0,0 +1,49 @@
+package com.codebreeze.testing;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The generators {@link Randoms} can draw from. Every thread gets its own {@link RandomSource}, except for
+ * {@link #SHARED_RANDOM} which funnels all threads through one {@link Random} the way older versions did.
+ */
+public enum RandomBackend
+{
+    THREAD_LOCAL_RANDOM
+            {
+                @Override
+                RandomSource newSource()
+                {
+                    return RandomSource.threadLocalRandom();
+                }
+            },
+    SPLITTABLE_RANDOM
+            {
+                @Override
+                RandomSource newSource()
+                {
+                    return RandomSource.splittableRandom(new SplittableRandom(ThreadLocalRandom.current().nextLong()));
+                }
+            },
+    L64X128_MIX_RANDOM
+            {
+                @Override
+                RandomSource newSource()
+                {
+                    return RandomSource.l64x128MixRandom(ThreadLocalRandom.current().nextLong());
+                }
+            },
+    SHARED_RANDOM
+            {
+                @Override
+                RandomSource newSource()
+                {
+                    return RandomSource.sharedRandom(SHARED);
+                }
+            };
+
+    private static final Random SHARED = new Random();
+
+    abstract RandomSource newSource();
+}
@@ -0,0 +1,433 @@
+package com.codebreeze.testing;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.LongStream;
+
+/**
+ * Writes files of random fixed-width records straight into memory-mapped regions of the file, without building a
+ * String or an intermediate buffer per record. The file is cut into chunks of whole records that are generated in
+ * parallel, chunk i drawing from {@link RandomSession#streamFor(long) streamFor(i)} of the dataset's session, so the
+ * same seed always gives the same file and any single chunk can be regenerated on its own.
+ */
+public final class RandomDataset
+{
+    private static final int DEFAULT_CHUNK_BYTES = 8 << 20;
+
+    private final Field[] fields;
+    private final int recordWidth;
+    private final int recordsPerChunk;
+    private final RandomSession session;
+
+    private RandomDataset(final Builder builder)
+    {
+        this.fields = builder.fields.toArray(new Field[0]);
+        this.recordWidth = builder.recordWidth;
+        this.recordsPerChunk = builder.recordsPerChunk == 0
+                               ? Math.max(1, DEFAULT_CHUNK_BYTES / recordWidth)
+                               : builder.recordsPerChunk;
+        this.session = builder.seed == null ? RandomSession.random() : RandomSession.seeded(builder.seed);
+    }
+
+    public static Builder builder()
+    {
+        return new Builder();
+    }
+
+    /**
+     * @return the number of bytes of every record
+     */
+    public int recordWidth()
+    {
+        return recordWidth;
+    }
+
+    public int recordsPerChunk()
+    {
+        return recordsPerChunk;
+    }
+
+    /**
+     * @return the seed of the dataset, building a dataset with the same fields and seed gives the same files
+     */
+    public long seed()
+    {
+        return session.seed();
+    }
+
+    /**
+     * @param records the number of records in the file
+     * @return the number of chunks the file is generated in
+     */
+    public long chunkCount(final long records)
+    {
+        checkRecords(records);
+        return (records + recordsPerChunk - 1) / recordsPerChunk;
+    }
+
+    /**
+     * creates or replaces the file, then generates all its chunks in parallel
+     *
+     * @param file    the file to write
+     * @param records the number of records to write
+     * @throws IOException if the file cannot be created, resized or mapped
+     */
+    public void writeTo(final Path file, final long records) throws IOException
+    {
+        Objects.requireNonNull(file, "file cannot be null");
+        //fails before touching the file when the size does not fit in a long
+        sizeOf(records);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            try
+            {
+                LongStream.range(0L, chunkCount(records))
+                          .parallel()
+                          .forEach(chunk -> fillChunk(channel, records, chunk));
+            }
+            catch (final UncheckedIOException e)
+            {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * regenerates one chunk of a file written by {@link #writeTo(Path, long)}, leaving the rest of the file alone
+     *
+     * @param file    the file to write into
+     * @param records the number of records the whole file holds
+     * @param chunk   the index of the chunk
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public void writeChunk(final Path file, final long records, final long chunk) throws IOException
+    {
+        Objects.requireNonNull(file, "file cannot be null");
+        if (chunk < 0L || chunk >= chunkCount(records))
+        {
+            throw new IllegalArgumentException("chunk must be between 0 and " + chunkCount(records)
+                                               + " exclusive, found " + chunk);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            if (channel.size() != sizeOf(records))
+            {
+                throw new IllegalArgumentException("file holds " + channel.size() + " bytes, " + records
+                                                   + " records need " + sizeOf(records));
+            }
+            try
+            {
+                fillChunk(channel, records, chunk);
+            }
+            catch (final UncheckedIOException e)
+            {
+                throw e.getCause();
+            }
+        }
+    }
+
+    //maps the chunk's region, which grows the file when needed, and writes its records
+    private void fillChunk(final FileChannel channel, final long records, final long chunk)
+    {
+        final long first = chunk * recordsPerChunk;
+        final int count = (int) Math.min(recordsPerChunk, records - first);
+        final MappedByteBuffer region;
+        try
+        {
+            region = channel.map(FileChannel.MapMode.READ_WRITE, first * recordWidth, (long) count * recordWidth);
+        }
+        catch (final IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        final RandomSource random = session.streamFor(chunk);
+        int offset = 0;
+        for (int record = 0; record < count; record++)
+        {
+            for (final Field field : fields)
+            {
+                field.write(region, offset, random);
+                offset += field.width;
+            }
+        }
+    }
+
+    private long sizeOf(final long records)
+    {
+        return Math.multiplyExact(checkRecords(records), (long) recordWidth);
+    }
+
+    private static long checkRecords(final long records)
+    {
+        if (records < 0L)
+        {
+            throw new IllegalArgumentException("records cannot be negative, found " + records);
+        }
+        return records;
+    }
+
+    /**
+     * a run of bytes at a fixed place of every record, written with absolute puts
+     */
+    private abstract static class Field
+    {
+        final int width;
+
+        Field(final int width)
+        {
+            this.width = width;
+        }
+
+        abstract void write(ByteBuffer buffer, int offset, RandomSource random);
+    }
+
+    /**
+     * Fields are laid out in the order they are added. Numbers are written in binary, big-endian; text is written
+     * one byte per char, so text alphabets must only hold chars up to 0xFF.
+     */
+    public static class Builder
+    {
+        //a whole chunk is one mapped region, which cannot go beyond 2 GB
+        private static final int MAX_CHUNK_BYTES = Integer.MAX_VALUE;
+
+        private final List<Field> fields = new ArrayList<>();
+        private int recordWidth;
+        private int recordsPerChunk;
+        private Long seed;
+
+        private Builder()
+        {
+        }
+
+        public Builder withInt()
+        {
+            return add(new Field(Integer.BYTES)
+            {
+                @Override
+                void write(final ByteBuffer buffer, final int offset, final RandomSource random)
+                {
+                    buffer.putInt(offset, random.nextInt());
+                }
+            });
+        }
+
+        /**
+         * @param startInclusive the smallest value
+         * @param endExclusive   one more than the largest value
+         * @return this builder
+         */
+        public Builder withInt(final int startInclusive, final int endExclusive)
+        {
+            checkRange(startInclusive < endExclusive);
+            return add(new Field(Integer.BYTES)
+            {
+                @Override
+                void write(final ByteBuffer buffer, final int offset, final RandomSource random)
+                {
+                    buffer.putInt(offset, random.nextInt(startInclusive, endExclusive));
+                }
+            });
+        }
+
+        public Builder withLong()
+        {
+            return add(new Field(Long.BYTES)
+            {
+                @Override
+                void write(final ByteBuffer buffer, final int offset, final RandomSource random)
+                {
+                    buffer.putLong(offset, random.nextLong());
+                }
+            });
+        }
+
+        public Builder withLong(final long startInclusive, final long endExclusive)
+        {
+            checkRange(startInclusive < endExclusive);
+            return add(new Field(Long.BYTES)
+            {
+                @Override
+                void write(final ByteBuffer buffer, final int offset, final RandomSource random)
+                {
+                    buffer.putLong(offset, random.nextLong(startInclusive, endExclusive));
+                }
+            });
+        }
+
+        /**
+         * @return this builder, with a double field in [0, 1)
+         */
+        public Builder withDouble()
+        {
+            return add(new Field(Double.BYTES)
+            {
+                @Override
+                void write(final ByteBuffer buffer, final int offset, final RandomSource random)
+                {
+                    buffer.putDouble(offset, random.nextDouble());
+                }
+            });
+        }
+
+        /**
+         * @param length   the number of chars, which is also the number of bytes
+         * @param alphabet the chars to draw from, none above 0xFF
+         * @return this builder
+         */
+        public Builder withText(final int length, final Alphabet alphabet)
+        {
+            Objects.requireNonNull(alphabet, "alphabet cannot be null");
+            checkWidth(length);
+            final byte[] table = new byte[alphabet.size()];
+            for (int i = 0; i < table.length; i++)
+            {
+                final char c = alphabet.charAt(i);
+                if (c > 0xFF)
+                {
+                    throw new IllegalArgumentException("text fields hold one byte per char, cannot write '"
+                                                       + Integer.toHexString(c) + "'");
+                }
+                table[i] = (byte) c;
+            }
+            return add(new Field(length)
+            {
+                @Override
+                void write(final ByteBuffer buffer, final int offset, final RandomSource random)
+                {
+                    for (int i = 0; i < length; i++)
+                    {
+                        buffer.put(offset + i, table[random.nextInt(table.length)]);
+                    }
+                }
+            });
+        }
+
+        /**
+         * @param length the number of raw random bytes
+         * @return this builder
+         */
+        public Builder withBytes(final int length)
+        {
+            checkWidth(length);
+            return add(new Field(length)
+            {
+                @Override
+                void write(final ByteBuffer buffer, final int offset, final RandomSource random)
+                {
+                    int i = 0;
+                    for (; i + Long.BYTES <= length; i += Long.BYTES)
+                    {
+                        buffer.putLong(offset + i, random.nextLong());
+                    }
+                    if (i < length)
+                    {
+                        long bits = random.nextLong();
+                        for (; i < length; i++)
+                        {
+                            buffer.put(offset + i, (byte) bits);
+                            bits >>>= 8;
+                        }
+                    }
+                }
+            });
+        }
+
+        /**
+         * @param literal the same text in every record, such as a separator or a line break, written as ISO-8859-1
+         * @return this builder
+         */
+        public Builder withLiteral(final String literal)
+        {
+            Objects.requireNonNull(literal, "literal cannot be null");
+            final byte[] bytes = literal.getBytes(StandardCharsets.ISO_8859_1);
+            checkWidth(bytes.length);
+            return add(new Field(bytes.length)
+            {
+                @Override
+                void write(final ByteBuffer buffer, final int offset, final RandomSource random)
+                {
+                    for (int i = 0; i < bytes.length; i++)
+                    {
+                        buffer.put(offset + i, bytes[i]);
+                    }
+                }
+            });
+        }
+
+        /**
+         * @param recordsPerChunk the number of records generated and mapped together, by default as many as fit in
+         *                        8 MB
+         * @return this builder
+         */
+        public Builder withRecordsPerChunk(final int recordsPerChunk)
+        {
+            if (recordsPerChunk < 1)
+            {
+                throw new IllegalArgumentException("records per chunk must be positive, found " + recordsPerChunk);
+            }
+            this.recordsPerChunk = recordsPerChunk;
+            return this;
+        }
+
+        /**
+         * @param seed the seed of the whole file, the same seed and fields give the same file
+         * @return this builder
+         */
+        public Builder withSeed(final long seed)
+        {
+            this.seed = seed;
+            return this;
+        }
+
+        public RandomDataset build()
+        {
+            if (fields.isEmpty())
+            {
+                throw new IllegalStateException("a dataset needs at least one field");
+            }
+            if ((long) recordWidth * Math.max(1, recordsPerChunk) > MAX_CHUNK_BYTES)
+            {
+                throw new IllegalStateException("a chunk of " + recordsPerChunk + " records of " + recordWidth
+                                                + " bytes is too large to map");
+            }
+            return new RandomDataset(this);
+        }
+
+        private Builder add(final Field field)
+        {
+            if ((long) recordWidth + field.width > MAX_CHUNK_BYTES)
+            {
+                throw new IllegalArgumentException("records cannot be wider than " + MAX_CHUNK_BYTES + " bytes");
+            }
+            fields.add(field);
+            recordWidth += field.width;
+            return this;
+        }
+
+        private static void checkWidth(final int width)
+        {
+            if (width < 1)
+            {
+                throw new IllegalArgumentException("length must be positive, found " + width);
+            }
+        }
+
+        private static void checkRange(final boolean valid)
+        {
+            if (!valid)
+            {
+                throw new IllegalArgumentException("Start value must be smaller than end value.");
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.codebreeze.testing;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import static com.codebreeze.testing.PintoThrowables.propagate;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Reproducible generation: while a session runs some work, every {@link Randoms} call made by that work draws from
+ * a stream derived from the session seed. Parallel work gets one stream per task index rather than per thread, so a
+ * seed produces the same data no matter how many threads end up running it.
+ */
+public final class RandomSession
+{
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final long seed;
+
+    private RandomSession(final long seed)
+    {
+        this.seed = seed;
+    }
+
+    public static RandomSession seeded(final long seed)
+    {
+        return new RandomSession(seed);
+    }
+
+    /**
+     * @return a session with a fresh seed, read it back through {@link #seed()} to replay the session
+     */
+    public static RandomSession random()
+    {
+        return new RandomSession(Randoms.source().nextLong());
+    }
+
+    public long seed()
+    {
+        return seed;
+    }
+
+    /**
+     * @param index the task index
+     * @return the stream of the task with the given index, the same for the same seed and index
+     */
+    public RandomSource streamFor(final long index)
+    {
+        return RandomSource.seeded(RandomSource.mix64(seed) ^ RandomSource.mix64((index + 1) * GOLDEN_GAMMA));
+    }
+
+    /**
+     * runs the work on the calling thread, drawing from the session's root stream
+     *
+     * @param work the work to run
+     * @param <T>  the result type
+     * @return whatever the work returned
+     */
+    public <T> T call(final Callable<T> work)
+    {
+        return callWith(RandomSource.seeded(seed), work);
+    }
+
+    public void run(final Runnable work)
+    {
+        Objects.requireNonNull(work, "work cannot be null");
+        call(() ->
+             {
+                 work.run();
+                 return null;
+             });
+    }
+
+    /**
+     * generates count items in parallel, item i drawing from {@link #streamFor(long) streamFor(i)}
+     *
+     * @param count     the number of items
+     * @param generator produces the item for an index
+     * @param <T>       the item type
+     * @return the items, in index order
+     */
+    public <T> List<T> generate(final int count, final IntFunction<T> generator)
+    {
+        if (count < 0)
+        {
+            throw new IllegalArgumentException("count cannot be negative");
+        }
+        Objects.requireNonNull(generator, "generator cannot be null");
+        return IntStream.range(0, count)
+                        .parallel()
+                        .mapToObj(i -> callWith(streamFor(i), () -> generator.apply(i)))
+                        .collect(toList());
+    }
+
+    private static <T> T callWith(final RandomSource source, final Callable<T> work)
+    {
+        Objects.requireNonNull(work, "work cannot be null");
+        final RandomSource previous = Randoms.bind(source);
+        try
+        {
+            return propagate(work);
+        }
+        finally
+        {
+            Randoms.unbind(previous);
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "RandomSession{seed=" + seed + "}";
+    }
+}
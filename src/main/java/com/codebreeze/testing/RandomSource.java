@@ -0,0 +1,456 @@
+package com.codebreeze.testing;
+
+import java.util.Objects;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A stream of random bits backing {@link Randoms}. Instances are confined to a single thread, {@link Randoms} keeps
+ * one per thread so that no draw ever touches shared state.
+ */
+public abstract class RandomSource
+{
+    private final RandomBackend backend;
+
+    //booleans and bytes are served from the bits of one 64 bit draw, the pools are safe since a source has one owner
+    private long bitPool;
+    private int bitsLeft;
+    private long bytePool;
+    private int bytesLeft;
+
+    RandomSource(final RandomBackend backend)
+    {
+        this.backend = backend;
+    }
+
+    static RandomSource of(final Random random)
+    {
+        return new JdkRandomSource(null, Objects.requireNonNull(random, "random cannot be null"));
+    }
+
+    /**
+     * @param seed the seed, equal seeds give equal streams
+     * @return a reproducible source, for use by the calling thread only
+     */
+    public static RandomSource seeded(final long seed)
+    {
+        return new L64X128MixRandomSource(null, seed);
+    }
+
+    static RandomSource threadLocalRandom()
+    {
+        return new ThreadLocalRandomSource();
+    }
+
+    static RandomSource splittableRandom(final SplittableRandom splittableRandom)
+    {
+        return new SplittableRandomSource(RandomBackend.SPLITTABLE_RANDOM, splittableRandom);
+    }
+
+    static RandomSource l64x128MixRandom(final long seed)
+    {
+        return new L64X128MixRandomSource(RandomBackend.L64X128_MIX_RANDOM, seed);
+    }
+
+    static RandomSource sharedRandom(final Random random)
+    {
+        return new JdkRandomSource(RandomBackend.SHARED_RANDOM, random);
+    }
+
+    /**
+     * @return the backend that created this source, null for seeded and split sources
+     */
+    RandomBackend backend()
+    {
+        return backend;
+    }
+
+    static long mix64(long z)
+    {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    public abstract long nextLong();
+
+    /**
+     * advances this source and derives a new, independent one from it. a seeded source always splits the same
+     * way, so a tree of splits taken in the same order is reproducible.
+     *
+     * @return a source for handing over to another thread or task
+     */
+    public abstract RandomSource split();
+
+    public int nextInt()
+    {
+        return (int) (nextLong() >>> 32);
+    }
+
+    /**
+     * @param bound exclusive upper bound, must be positive
+     * @return a uniformly distributed value in [0, bound)
+     */
+    public int nextInt(final int bound)
+    {
+        if (bound <= 0)
+        {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        return (int) nextBounded32(bound);
+    }
+
+    /**
+     * @param origin inclusive lower bound, may be negative
+     * @param bound  exclusive upper bound, must be greater than origin
+     * @return a uniformly distributed value in [origin, bound)
+     */
+    public int nextInt(final int origin, final int bound)
+    {
+        if (bound <= origin)
+        {
+            throw new IllegalArgumentException("bound must be greater than origin");
+        }
+        return origin + (int) nextBounded32((long) bound - origin);
+    }
+
+    /**
+     * @param bound exclusive upper bound, must be positive
+     * @return a uniformly distributed value in [0, bound)
+     */
+    public long nextLong(final long bound)
+    {
+        if (bound <= 0)
+        {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        return nextBounded64(bound);
+    }
+
+    /**
+     * @param origin inclusive lower bound, may be negative
+     * @param bound  exclusive upper bound, must be greater than origin
+     * @return a uniformly distributed value in [origin, bound)
+     */
+    public long nextLong(final long origin, final long bound)
+    {
+        if (bound <= origin)
+        {
+            throw new IllegalArgumentException("bound must be greater than origin");
+        }
+        return origin + nextBounded64(bound - origin);
+    }
+
+    /**
+     * Lemire's nearly divisionless method: the high half of a 32x32 bit product is uniform in [0, range) once the
+     * few low halves that would bias it are rejected. the division only runs when a rejection is possible.
+     *
+     * @param range the number of possible results, in [1, 2^32]
+     * @return a uniformly distributed value in [0, range)
+     */
+    private long nextBounded32(final long range)
+    {
+        long product = (nextInt() & 0xFFFFFFFFL) * range;
+        long low = product & 0xFFFFFFFFL;
+        if (low < range)
+        {
+            final long threshold = ((1L << 32) - range) % range;
+            while (low < threshold)
+            {
+                product = (nextInt() & 0xFFFFFFFFL) * range;
+                low = product & 0xFFFFFFFFL;
+            }
+        }
+        return product >>> 32;
+    }
+
+    /**
+     * the 64 bit version of {@link #nextBounded32(long)}, working on the 128 bit product
+     *
+     * @param range the number of possible results, read as unsigned and not 0
+     * @return a value in [0, range), read as unsigned
+     */
+    private long nextBounded64(final long range)
+    {
+        long x = nextLong();
+        long low = x * range;
+        if (Long.compareUnsigned(low, range) < 0)
+        {
+            final long threshold = Long.remainderUnsigned(-range, range);
+            while (Long.compareUnsigned(low, threshold) < 0)
+            {
+                x = nextLong();
+                low = x * range;
+            }
+        }
+        return multiplyHighUnsigned(x, range);
+    }
+
+    static long multiplyHighUnsigned(final long x, final long y)
+    {
+        final long x0 = x & 0xFFFFFFFFL;
+        final long x1 = x >>> 32;
+        final long y0 = y & 0xFFFFFFFFL;
+        final long y1 = y >>> 32;
+        final long t = x1 * y0 + ((x0 * y0) >>> 32);
+        final long w1 = x0 * y1 + (t & 0xFFFFFFFFL);
+        return x1 * y1 + (t >>> 32) + (w1 >>> 32);
+    }
+
+    public double nextDouble()
+    {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    public float nextFloat()
+    {
+        return (nextInt() >>> 8) * 0x1.0p-24f;
+    }
+
+    /**
+     * @return a random boolean, 64 of them per draw
+     */
+    public boolean nextBoolean()
+    {
+        if (bitsLeft == 0)
+        {
+            bitPool = nextLong();
+            bitsLeft = 64;
+        }
+        bitsLeft--;
+        final boolean result = (bitPool & 1L) != 0L;
+        bitPool >>>= 1;
+        return result;
+    }
+
+    /**
+     * @return a random byte, 8 of them per draw
+     */
+    public byte nextByte()
+    {
+        if (bytesLeft == 0)
+        {
+            bytePool = nextLong();
+            bytesLeft = 8;
+        }
+        bytesLeft--;
+        final byte result = (byte) bytePool;
+        bytePool >>>= 8;
+        return result;
+    }
+
+    public void nextBytes(final byte[] bytes)
+    {
+        int i = 0;
+        final int words = bytes.length >> 3;
+        for (int word = 0; word < words; word++)
+        {
+            long bits = nextLong();
+            for (int n = 0; n < 8; n++, bits >>>= 8)
+            {
+                bytes[i++] = (byte) bits;
+            }
+        }
+        if (i < bytes.length)
+        {
+            for (long bits = nextLong(); i < bytes.length; bits >>>= 8)
+            {
+                bytes[i++] = (byte) bits;
+            }
+        }
+    }
+
+    private static final class ThreadLocalRandomSource
+            extends RandomSource
+    {
+        private ThreadLocalRandomSource()
+        {
+            super(RandomBackend.THREAD_LOCAL_RANDOM);
+        }
+
+        @Override
+        public RandomSource split()
+        {
+            return new SplittableRandomSource(null, new SplittableRandom(nextLong()));
+        }
+
+        @Override
+        public long nextLong()
+        {
+            return ThreadLocalRandom.current().nextLong();
+        }
+
+        @Override
+        public int nextInt()
+        {
+            return ThreadLocalRandom.current().nextInt();
+        }
+
+        @Override
+        public double nextDouble()
+        {
+            return ThreadLocalRandom.current().nextDouble();
+        }
+    }
+
+    private static final class SplittableRandomSource
+            extends RandomSource
+    {
+        private final SplittableRandom random;
+
+        private SplittableRandomSource(final RandomBackend backend, final SplittableRandom random)
+        {
+            super(backend);
+            this.random = random;
+        }
+
+        @Override
+        public RandomSource split()
+        {
+            return new SplittableRandomSource(null, random.split());
+        }
+
+        @Override
+        public long nextLong()
+        {
+            return random.nextLong();
+        }
+
+        @Override
+        public int nextInt()
+        {
+            return random.nextInt();
+        }
+
+        @Override
+        public double nextDouble()
+        {
+            return random.nextDouble();
+        }
+    }
+
+    private static final class JdkRandomSource
+            extends RandomSource
+    {
+        private final Random random;
+
+        private JdkRandomSource(final RandomBackend backend, final Random random)
+        {
+            super(backend);
+            this.random = random;
+        }
+
+        @Override
+        public RandomSource split()
+        {
+            return new SplittableRandomSource(null, new SplittableRandom(nextLong()));
+        }
+
+        @Override
+        public long nextLong()
+        {
+            return random.nextLong();
+        }
+
+        @Override
+        public int nextInt()
+        {
+            return random.nextInt();
+        }
+
+        @Override
+        public int nextInt(final int bound)
+        {
+            return random.nextInt(bound);
+        }
+
+        @Override
+        public double nextDouble()
+        {
+            return random.nextDouble();
+        }
+
+        @Override
+        public float nextFloat()
+        {
+            return random.nextFloat();
+        }
+
+        @Override
+        public boolean nextBoolean()
+        {
+            return random.nextBoolean();
+        }
+
+        @Override
+        public byte nextByte()
+        {
+            return (byte) random.nextInt();
+        }
+
+        @Override
+        public void nextBytes(final byte[] bytes)
+        {
+            random.nextBytes(bytes);
+        }
+    }
+
+    /**
+     * The LXM generator behind the JDK 17 {@code L64X128MixRandom}: a 64 bit LCG and a xoroshiro128 generator whose
+     * outputs are summed and passed through the lea64 mixer. Kept here so it is available on Java 8.
+     */
+    private static final class L64X128MixRandomSource
+            extends RandomSource
+    {
+        private static final long M = 0xd1342543de82ef95L;
+        private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+        private static final long SILVER_GAMMA = 0x6a09e667f3bcc909L;
+
+        private final long a;
+        private long s;
+        private long x0;
+        private long x1;
+
+        private L64X128MixRandomSource(final RandomBackend backend, final long seed)
+        {
+            super(backend);
+            this.a = mix64(seed ^ SILVER_GAMMA) | 1L;
+            this.s = 1L;
+            final long x0 = mix64(seed);
+            final long x1 = mix64(seed + GOLDEN_GAMMA);
+            //xoroshiro128 must never be all zeroes
+            this.x0 = (x0 | x1) == 0L ? GOLDEN_GAMMA : x0;
+            this.x1 = (x0 | x1) == 0L ? SILVER_GAMMA : x1;
+        }
+
+        @Override
+        public RandomSource split()
+        {
+            return new L64X128MixRandomSource(null, nextLong());
+        }
+
+        @Override
+        public long nextLong()
+        {
+            final long result = lea64(s + x0);
+            s = M * s + a;
+            long q0 = x0;
+            long q1 = x1;
+            q1 ^= q0;
+            q0 = Long.rotateLeft(q0, 24);
+            q0 = q0 ^ q1 ^ (q1 << 16);
+            q1 = Long.rotateLeft(q1, 37);
+            x0 = q0;
+            x1 = q1;
+            return result;
+        }
+
+        private static long lea64(long z)
+        {
+            z = (z ^ (z >>> 32)) * 0xdaba0b6eb09322e3L;
+            z = (z ^ (z >>> 32)) * 0xdaba0b6eb09322e3L;
+            return z ^ (z >>> 32);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.codebreeze.testing;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Sized streams of random values. Splitting a stream for parallel work splits its source too, so every split
+ * draws from its own independent source and no two threads ever share one.
+ */
+final class RandomStreams
+{
+    private static final int CHARACTERISTICS = Spliterator.SIZED | Spliterator.SUBSIZED
+                                               | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+
+    private RandomStreams()
+    {
+    }
+
+    static IntStream ints(final RandomSource source, final long count, final int lo, final int hi, final boolean bounded)
+    {
+        return StreamSupport.intStream(new IntSpliterator(source, 0L, checkedCount(count), lo, hi, bounded), false);
+    }
+
+    static LongStream longs(final RandomSource source, final long count, final long lo, final long hi, final boolean bounded)
+    {
+        return StreamSupport.longStream(new LongSpliterator(source, 0L, checkedCount(count), lo, hi, bounded), false);
+    }
+
+    static DoubleStream doubles(final RandomSource source, final long count, final double lo, final double hi)
+    {
+        return StreamSupport.doubleStream(new DoubleSpliterator(source, 0L, checkedCount(count), lo, hi), false);
+    }
+
+    static Stream<String> strings(final RandomSource source, final long count, final int length, final Alphabet alphabet)
+    {
+        return StreamSupport.stream(new StringSpliterator(source, 0L, checkedCount(count), length, alphabet), false);
+    }
+
+    private static long checkedCount(final long count)
+    {
+        if (count < 0L)
+        {
+            throw new IllegalArgumentException("count cannot be negative");
+        }
+        return count;
+    }
+
+    private abstract static class RandomSpliterator
+    {
+        final RandomSource source;
+        long index;
+        final long fence;
+
+        RandomSpliterator(final RandomSource source, final long index, final long fence)
+        {
+            this.source = source;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        /**
+         * keeps the upper half of the remaining range for this spliterator
+         *
+         * @return the start of the lower half, which goes to the new spliterator, or -1 when too small to split
+         */
+        final long splitPoint()
+        {
+            final long middle = (index + fence) >>> 1;
+            if (middle <= index)
+            {
+                return -1L;
+            }
+            final long start = index;
+            index = middle;
+            return start;
+        }
+
+        public final long estimateSize()
+        {
+            return fence - index;
+        }
+
+        public final int characteristics()
+        {
+            return CHARACTERISTICS;
+        }
+    }
+
+    private static final class IntSpliterator extends RandomSpliterator implements Spliterator.OfInt
+    {
+        private final int lo;
+        private final int hi;
+        private final boolean bounded;
+
+        IntSpliterator(final RandomSource source, final long index, final long fence, final int lo, final int hi,
+                       final boolean bounded)
+        {
+            super(source, index, fence);
+            this.lo = lo;
+            this.hi = hi;
+            this.bounded = bounded;
+        }
+
+        @Override
+        public OfInt trySplit()
+        {
+            final long start = splitPoint();
+            return start < 0L ? null : new IntSpliterator(source.split(), start, index, lo, hi, bounded);
+        }
+
+        @Override
+        public boolean tryAdvance(final IntConsumer action)
+        {
+            if (index >= fence)
+            {
+                return false;
+            }
+            action.accept(bounded ? source.nextInt(lo, hi) : source.nextInt());
+            index++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final IntConsumer action)
+        {
+            final RandomSource random = source;
+            for (long i = index; i < fence; i++)
+            {
+                action.accept(bounded ? random.nextInt(lo, hi) : random.nextInt());
+            }
+            index = fence;
+        }
+    }
+
+    private static final class LongSpliterator extends RandomSpliterator implements Spliterator.OfLong
+    {
+        private final long lo;
+        private final long hi;
+        private final boolean bounded;
+
+        LongSpliterator(final RandomSource source, final long index, final long fence, final long lo, final long hi,
+                        final boolean bounded)
+        {
+            super(source, index, fence);
+            this.lo = lo;
+            this.hi = hi;
+            this.bounded = bounded;
+        }
+
+        @Override
+        public OfLong trySplit()
+        {
+            final long start = splitPoint();
+            return start < 0L ? null : new LongSpliterator(source.split(), start, index, lo, hi, bounded);
+        }
+
+        @Override
+        public boolean tryAdvance(final LongConsumer action)
+        {
+            if (index >= fence)
+            {
+                return false;
+            }
+            action.accept(bounded ? source.nextLong(lo, hi) : source.nextLong());
+            index++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final LongConsumer action)
+        {
+            final RandomSource random = source;
+            for (long i = index; i < fence; i++)
+            {
+                action.accept(bounded ? random.nextLong(lo, hi) : random.nextLong());
+            }
+            index = fence;
+        }
+    }
+
+    private static final class DoubleSpliterator extends RandomSpliterator implements Spliterator.OfDouble
+    {
+        private final double lo;
+        private final double hi;
+
+        DoubleSpliterator(final RandomSource source, final long index, final long fence, final double lo, final double hi)
+        {
+            super(source, index, fence);
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        public OfDouble trySplit()
+        {
+            final long start = splitPoint();
+            return start < 0L ? null : new DoubleSpliterator(source.split(), start, index, lo, hi);
+        }
+
+        @Override
+        public boolean tryAdvance(final DoubleConsumer action)
+        {
+            if (index >= fence)
+            {
+                return false;
+            }
+            action.accept(next(source));
+            index++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final DoubleConsumer action)
+        {
+            final RandomSource random = source;
+            for (long i = index; i < fence; i++)
+            {
+                action.accept(next(random));
+            }
+            index = fence;
+        }
+
+        private double next(final RandomSource random)
+        {
+            final double d = lo + (hi - lo) * random.nextDouble();
+            //rounding can land exactly on hi
+            return d < hi ? d : Math.nextDown(hi);
+        }
+    }
+
+    private static final class StringSpliterator extends RandomSpliterator implements Spliterator<String>
+    {
+        private final int length;
+        private final Alphabet alphabet;
+
+        StringSpliterator(final RandomSource source, final long index, final long fence, final int length,
+                          final Alphabet alphabet)
+        {
+            super(source, index, fence);
+            this.length = length;
+            this.alphabet = alphabet;
+        }
+
+        @Override
+        public Spliterator<String> trySplit()
+        {
+            final long start = splitPoint();
+            return start < 0L ? null : new StringSpliterator(source.split(), start, index, length, alphabet);
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super String> action)
+        {
+            if (index >= fence)
+            {
+                return false;
+            }
+            action.accept(alphabet.randomString(length, source));
+            index++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super String> action)
+        {
+            final RandomSource random = source;
+            for (long i = index; i < fence; i++)
+            {
+                action.accept(alphabet.randomString(length, random));
+            }
+            index = fence;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.function.IntSupplier;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -34,7 +35,8 @@ public class RandomizedInstance<T>
      */
     private RandomizedInstance(
             final Supplier<T> cutSupplier, final Class<T> cutClass, final Set<String> includeFieldNames,
-            final Set<String> excludeFieldNames, final Map<Class<?>, Supplier<?>> nonStandardTypeSuppliers
+            final Set<String> excludeFieldNames, final Map<Class<?>, Supplier<?>> nonStandardTypeSuppliers,
+            final IntSupplier arrayLength, final IntSupplier collectionSize, final boolean primitiveBackedLists
                               )
     {
 
@@ -60,6 +62,9 @@ public class RandomizedInstance<T>
             this.excludeFieldNames.addAll(excludeFieldNames);
         }
         addSuppliers(nonStandardTypeSuppliers);
+        setArrayLength(arrayLength);
+        setCollectionSize(collectionSize);
+        setPrimitiveBackedLists(primitiveBackedLists);
     }
 
     private T getInstance()
@@ -87,7 +92,7 @@ public class RandomizedInstance<T>
         }
         else
         {
-            final Supplier<?> factoryForField = getFactoryForClass(field.getType());
+            final Supplier<?> factoryForField = getFactoryForField(field);
             field.set(instance, factoryForField.get());
         }
     }
@@ -161,6 +166,10 @@ public class RandomizedInstance<T>
         private Map<Class<?>, Supplier<?>> nonStandardTypeSuppliers = new HashMap<>();
         //a cutSupplier that returns Equal but NOT the same values
         private Supplier<T> cutSupplier;
+        private Long seed;
+        private IntSupplier arrayLength;
+        private IntSupplier collectionSize;
+        private boolean primitiveBackedLists;
 
         private Builder()
         {
@@ -197,11 +206,100 @@ public class RandomizedInstance<T>
             return this;
         }
 
+        /**
+         * @param length the length of every array field value, and of every dimension of multi-dimensional ones, at
+         *               least 1
+         * @return this builder
+         */
+        public Builder<T> withArrayLength(final int length)
+        {
+            this.arrayLength = fixedLength(length);
+            return this;
+        }
+
+        /**
+         * @param minLength the shortest array length, at least 1
+         * @param maxLength one more than the longest array length
+         * @return this builder
+         */
+        public Builder<T> withArrayLength(final int minLength, final int maxLength)
+        {
+            this.arrayLength = lengthBetween(minLength, maxLength);
+            return this;
+        }
+
+        /**
+         * @param arrayLength draws the length of every array, for example from {@link Distributions#poisson(double)},
+         *                    drawing a length below 1 fails
+         * @return this builder
+         */
+        public Builder<T> withArrayLength(final IntSupplier arrayLength)
+        {
+            this.arrayLength = Objects.requireNonNull(arrayLength, "array length policy cannot be null");
+            return this;
+        }
+
+        /**
+         * @param size the size of every collection and map field value, at least 1
+         * @return this builder
+         */
+        public Builder<T> withCollectionSize(final int size)
+        {
+            this.collectionSize = fixedLength(size);
+            return this;
+        }
+
+        /**
+         * @param minSize the smallest collection size, at least 1
+         * @param maxSize one more than the largest collection size
+         * @return this builder
+         */
+        public Builder<T> withCollectionSize(final int minSize, final int maxSize)
+        {
+            this.collectionSize = lengthBetween(minSize, maxSize);
+            return this;
+        }
+
+        /**
+         * @param collectionSize draws the size of every collection and map, for example from
+         *                       {@link Distributions#poisson(double)}, drawing a size below 1 fails
+         * @return this builder
+         */
+        public Builder<T> withCollectionSize(final IntSupplier collectionSize)
+        {
+            this.collectionSize = Objects.requireNonNull(collectionSize, "collection size policy cannot be null");
+            return this;
+        }
+
+        /**
+         * makes fields declared as a {@code List}, {@code Collection} or {@code Iterable} of {@code Integer},
+         * {@code Long} or {@code Double} get immutable lists backed by a primitive array, which saves boxing every
+         * element of large lists
+         *
+         * @return this builder
+         */
+        public Builder<T> withPrimitiveBackedLists()
+        {
+            this.primitiveBackedLists = true;
+            return this;
+        }
+
+        /**
+         * @param seed seed for all random field values, the same seed gives an instance with the same values
+         * @return this builder
+         */
+        public Builder<T> withSeed(final long seed)
+        {
+            this.seed = seed;
+            return this;
+        }
+
         public T get()
         {
             validateIncludeExcludeListsAreUsedExclusively();
-            return new RandomizedInstance<T>(cutSupplier, clazz, includeFieldNames, excludeFieldNames,
-                                             nonStandardTypeSuppliers).get();
+            return inSession(seed, () -> new RandomizedInstance<T>(cutSupplier, clazz, includeFieldNames, excludeFieldNames,
+                                                                   nonStandardTypeSuppliers, arrayLength, collectionSize,
+                                                                   primitiveBackedLists).get());
         }
 
         private void validateIncludeExcludeListsAreUsedExclusively()
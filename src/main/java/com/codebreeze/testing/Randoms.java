@@ -2,20 +2,31 @@ package com.codebreeze.testing;
 
 import java.lang.reflect.Array;
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
+import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
-
-import static com.codebreeze.testing.PintoCollections.powerSet;
-import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toSet;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 public class Randoms
 {
-    private static final Random RANDOM = new Random();
+    private static volatile RandomBackend backend = RandomBackend.THREAD_LOCAL_RANDOM;
+
+    private static final ThreadLocal<RandomSource> SOURCE = ThreadLocal.withInitial(() -> backend.newSource());
 
     // XML 1.0
     // #x9 | #xA | #xD | [#x20-#xD7FF] | [#xE000-#xFFFD] | [#x10000-#x10FFFF]
@@ -34,6 +45,13 @@ public class Randoms
 
     private static final char[] BLANKS = {'\0', ' ', '\t', '\n', '\r', '\f'};
 
+    private static final int SURROGATE_COUNT = Character.MAX_SURROGATE - Character.MIN_SURROGATE + 1;
+
+    /**
+     * how many draws {@link #randomNotIn(Supplier, Collection)} makes before giving up
+     */
+    public static final int DEFAULT_NOT_IN_ATTEMPTS = 1_000_000;
+
     public static final Supplier<Boolean> RANDOM_BOOLEAN_FACTORY = () -> randomBoolean();
 
     public static final Supplier<Integer> RANDOM_INTEGER_FACTORY = () -> randomInt();
@@ -42,22 +60,89 @@ public class Randoms
 
     public static final Supplier<Character> RANDOM_CHARACTER_FACTORY = () -> randomChar();
 
+    public static final Supplier<Double> RANDOM_GAUSSIAN_FACTORY = () -> randomGaussian();
+
     public static final Date MIN_DATE = new Date(Long.MIN_VALUE);
     public static final Date MAX_DATE = new Date(Long.MAX_VALUE);
-    public static final Supplier<LocalDateTime> RANDOM_DATETIME_FACTORY = () -> LocalDateTime.from(
-            Instant.ofEpochMilli(randomDateBetween(MIN_DATE, MAX_DATE).getTime())
-                   .atZone(ZoneId.systemDefault()));
+    private static final long MIN_EPOCH_SECOND = Math.floorDiv(Long.MIN_VALUE, 1000L);
+    private static final long MAX_EPOCH_SECOND = Long.MAX_VALUE / 1000L;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long NANOS_PER_DAY = 86_400L * NANOS_PER_SECOND;
+    private static final long SECONDS_PER_DAY = 86_400L;
+    private static final int SECONDS_PER_QUARTER_HOUR = 900;
+    private static final int MAX_OFFSET_QUARTERS = 18 * 4;
+    private static final long MAX_DURATION_SECONDS = 100L * 365L * SECONDS_PER_DAY;
+    private static final int PARALLEL_FILL_CHUNK = 1 << 20;
+    private static final int DEFAULT_BIG_INTEGER_BITS = 128;
+    private static final int DEFAULT_BIG_DECIMAL_PRECISION = 18;
+    private static final int DEFAULT_BIG_DECIMAL_MAX_SCALE = 9;
+    //10^0 to 10^18, the powers of ten a long can hold
+    private static final long[] LONG_POWERS_OF_TEN = LongStream.iterate(1L, power -> power * 10L).limit(19).toArray();
+    public static final Supplier<LocalDateTime> RANDOM_DATETIME_FACTORY = Randoms::randomLocalDateTime;
 
     public static final Supplier<Byte> RANDOM_BYTE_FACTORY = () -> randomByte();
 
+    /**
+     * selects the generator every thread draws from. threads pick up the change on their next draw.
+     *
+     * @param randomBackend the backend to use from now on
+     */
+    public static void useBackend(final RandomBackend randomBackend)
+    {
+        backend = Objects.requireNonNull(randomBackend, "random backend cannot be null");
+    }
+
+    public static RandomBackend backend()
+    {
+        return backend;
+    }
+
+    /**
+     * @return the calling thread's source, never share it with other threads
+     */
+    static RandomSource source()
+    {
+        final RandomSource current = SOURCE.get();
+        final RandomBackend selected = backend;
+        //sources without a backend are bound by a RandomSession and stay until it unbinds them
+        if (current.backend() == selected || current.backend() == null)
+        {
+            return current;
+        }
+        final RandomSource replacement = selected.newSource();
+        SOURCE.set(replacement);
+        return replacement;
+    }
+
+    /**
+     * makes the calling thread draw from the given source until {@link #unbind(RandomSource)} is called
+     *
+     * @param source the source to draw from
+     * @return the source that was in use before, to be handed back to unbind
+     */
+    static RandomSource bind(final RandomSource source)
+    {
+        final RandomSource previous = SOURCE.get();
+        SOURCE.set(source);
+        return previous;
+    }
+
+    static void unbind(final RandomSource previous)
+    {
+        SOURCE.set(previous);
+    }
+
     public static int randomPositiveInt()
     {
         return nextInt(0, Integer.MAX_VALUE);
     }
 
+    /**
+     * @return any int, Integer.MIN_VALUE and Integer.MAX_VALUE included
+     */
     public static int randomInt()
     {
-        return randomBoolean() ? nextInt(0, Integer.MAX_VALUE) : -nextInt(0, Integer.MAX_VALUE);
+        return source().nextInt();
     }
 
     public static int nextInt(final int startInclusive, final int endExclusive) {
@@ -75,17 +160,43 @@ public class Randoms
             return startInclusive;
         }
 
-        return startInclusive + RANDOM.nextInt(endExclusive - startInclusive);
+        return source().nextInt(startInclusive, endExclusive);
     }
 
+    /**
+     * @param a inclusive lower bound, may be negative
+     * @param b exclusive upper bound
+     * @return a uniformly distributed int in [a, b), or a if both are equal
+     */
     public static int randomInt(final int a, final int b)
     {
-        return a + nextInt(0, b - a);
+        if (b < a)
+        {
+            throw new IllegalArgumentException("Start value must be smaller or equal to end value.");
+        }
+        return a == b ? a : source().nextInt(a, b);
     }
 
+    /**
+     * @return any long, Long.MIN_VALUE and Long.MAX_VALUE included
+     */
     public static long randomLong()
     {
-        return randomBoolean() ? nextLong(0, Long.MAX_VALUE) : -nextLong(0, Long.MAX_VALUE);
+        return source().nextLong();
+    }
+
+    /**
+     * @param a inclusive lower bound, may be negative
+     * @param b exclusive upper bound
+     * @return a uniformly distributed long in [a, b), or a if both are equal
+     */
+    public static long randomLong(final long a, final long b)
+    {
+        if (b < a)
+        {
+            throw new IllegalArgumentException("Start value must be smaller or equal to end value.");
+        }
+        return a == b ? a : source().nextLong(a, b);
     }
 
     public static long nextLong(final long startInclusive, final long endExclusive) {
@@ -103,7 +214,7 @@ public class Randoms
             return startInclusive;
         }
 
-        return (long) nextDouble(startInclusive, endExclusive);
+        return source().nextLong(startInclusive, endExclusive);
     }
 
     public static double nextDouble(final double startInclusive, final double endInclusive) {
@@ -120,7 +231,7 @@ public class Randoms
             return startInclusive;
         }
 
-        return startInclusive + ((endInclusive - startInclusive) * RANDOM.nextDouble());
+        return startInclusive + ((endInclusive - startInclusive) * source().nextDouble());
     }
 
     public static double randomDouble()
@@ -153,7 +264,7 @@ public class Randoms
             return startInclusive;
         }
 
-        return startInclusive + ((endInclusive - startInclusive) * RANDOM.nextFloat());
+        return startInclusive + ((endInclusive - startInclusive) * source().nextFloat());
     }
 
     public static float randomFloat(final float a, final float b)
@@ -163,17 +274,90 @@ public class Randoms
 
     public static short randomShort()
     {
-        return (short) (Short.MIN_VALUE + nextInt(0, Short.MAX_VALUE - Short.MIN_VALUE));
+        return (short) (source().nextInt() >>> 16);
     }
 
+    /**
+     * @return any char that is not a surrogate
+     */
     public static char randomChar()
     {
-        return randomString(1).charAt(0);
+        return randomChar(source());
+    }
+
+    private static char randomChar(final RandomSource random)
+    {
+        final int c = random.nextInt(0x10000 - SURROGATE_COUNT);
+        return (char) (c < Character.MIN_SURROGATE ? c : c + SURROGATE_COUNT);
+    }
+
+    /**
+     * @return any Unicode scalar value, that is any code point but a surrogate
+     */
+    public static int randomCodePoint()
+    {
+        return randomCodePoint(source());
+    }
+
+    private static int randomCodePoint(final RandomSource random)
+    {
+        final int c = random.nextInt(Character.MAX_CODE_POINT + 1 - SURROGATE_COUNT);
+        return c < Character.MIN_SURROGATE ? c : c + SURROGATE_COUNT;
+    }
+
+    public static int randomCodePoint(final CodePointTable table)
+    {
+        return Objects.requireNonNull(table, "table cannot be null").next(source());
+    }
+
+    /**
+     * @param type a general category, one of the {@link Character#getType(int)} constants
+     * @return a code point of that category
+     */
+    public static int randomCodePointOfType(final int type)
+    {
+        return CodePointTable.forType(type).next(source());
+    }
+
+    public static int randomCodePoint(final Character.UnicodeBlock block)
+    {
+        return CodePointTable.forBlock(block).next(source());
+    }
+
+    public static int randomCodePoint(final Character.UnicodeScript script)
+    {
+        return CodePointTable.forScript(script).next(source());
+    }
+
+    public static int randomLetter(final Character.UnicodeScript script)
+    {
+        return CodePointTable.lettersOf(script).next(source());
+    }
+
+    /**
+     * @param codePoints the number of code points, supplementary ones take two chars in the result
+     * @param table      the table to draw the code points from
+     * @return a string of random code points from the table
+     */
+    public static String randomString(final int codePoints, final CodePointTable table)
+    {
+        if (codePoints < 0)
+        {
+            throw new IllegalArgumentException("Requested randomString string length " + codePoints + " is less than 0.");
+        }
+        Objects.requireNonNull(table, "table cannot be null");
+        final RandomSource random = source();
+        final StringBuilder sb = new StringBuilder(codePoints);
+        for (int i = 0; i < codePoints; i++)
+        {
+            sb.appendCodePoint(table.next(random));
+        }
+        return sb.toString();
     }
 
     public static byte randomByte()
     {
-        return nextBytes(1)[0];
+        return source().nextByte();
     }
 
     public static byte[] nextBytes(final int count) {
@@ -183,10 +367,70 @@ public class Randoms
         }
 
         final byte[] result = new byte[count];
-        RANDOM.nextBytes(result);
+        source().nextBytes(result);
         return result;
     }
 
+    /**
+     * fills the bytes between the buffer's position and limit, 8 bytes per draw, and moves the position to the limit.
+     * direct buffers are written in place, nothing is allocated on the heap.
+     *
+     * @param buffer the buffer to fill
+     * @return the same buffer
+     */
+    public static ByteBuffer fill(final ByteBuffer buffer)
+    {
+        Objects.requireNonNull(buffer, "buffer cannot be null");
+        fill(buffer, buffer.position(), buffer.limit(), source());
+        buffer.position(buffer.limit());
+        return buffer;
+    }
+
+    /**
+     * like {@link #fill(ByteBuffer)}, but large buffers are split into 1 MB chunks that are filled in parallel. chunk
+     * i draws from {@link RandomSession#streamFor(long) streamFor(i)} of a session seeded from the calling thread, so
+     * the content does not depend on how many threads did the work.
+     *
+     * @param buffer the buffer to fill
+     * @return the same buffer
+     */
+    public static ByteBuffer fillParallel(final ByteBuffer buffer)
+    {
+        Objects.requireNonNull(buffer, "buffer cannot be null");
+        final RandomSession session = RandomSession.seeded(source().nextLong());
+        final int from = buffer.position();
+        final int to = buffer.limit();
+        final int chunks = (int) ((to - from + (long) PARALLEL_FILL_CHUNK - 1) / PARALLEL_FILL_CHUNK);
+        IntStream.range(0, chunks)
+                 .parallel()
+                 .forEach(chunk ->
+                          {
+                              final int start = from + chunk * PARALLEL_FILL_CHUNK;
+                              fill(buffer, start, Math.min(to, start + PARALLEL_FILL_CHUNK), session.streamFor(chunk));
+                          });
+        buffer.position(to);
+        return buffer;
+    }
+
+    //absolute puts only, so threads filling different regions of one buffer do not interfere
+    private static void fill(final ByteBuffer buffer, final int from, final int to, final RandomSource random)
+    {
+        int i = from;
+        for (; i + Long.BYTES <= to; i += Long.BYTES)
+        {
+            buffer.putLong(i, random.nextLong());
+        }
+        if (i < to)
+        {
+            long bits = random.nextLong();
+            for (; i < to; i++)
+            {
+                buffer.put(i, (byte) bits);
+                bits >>>= 8;
+            }
+        }
+    }
+
     public static int randomFrom(final int... ints)
     {
         Objects.requireNonNull(ints, "cannot handle null set of ints");
@@ -208,13 +452,12 @@ public class Randoms
     public static <T extends Enum<T>> T randomFrom(Class<T> enumClass)
     {
         Objects.requireNonNull(enumClass, "enum class cannot be null");
-        return enumClass.getEnumConstants()[nextInt(0, enumClass.getEnumConstants().length)];
+        return Sampler.ofEnum(enumClass).get();
     }
 
     public static <T extends Enum<T>> Supplier<T> randomEnumFactory(final Class<T> enumClass)
     {
-        Objects.requireNonNull(enumClass, "enum class cannot be null");
-        return () -> randomFrom(enumClass);
+        return Sampler.ofEnum(enumClass);
     }
 
     /**
@@ -246,7 +489,13 @@ public class Randoms
             throw new IllegalArgumentException("cannot pick an element from an empty collection");
         }
 
-        final int index = nextInt(0, collection.size());
+        final RandomSource random = source();
+        if (collection instanceof List && collection instanceof RandomAccess)
+        {
+            return ((List<S>) collection).get(random.nextInt(collection.size()));
+        }
+        //for repeated picks from the same collection use a Sampler, which pays for this walk only once
+        final int index = random.nextInt(collection.size());
         final Iterator<S> iterator = collection.iterator();
         int i = 0;
         while(i++ != index) {
@@ -255,256 +504,1300 @@ public class Randoms
         return iterator.next();
     }
 
-    public static Date randomDateBetween(final Date from, final Date to)
+    /**
+     * @param weights the items and their weights, e.g. {READ=70.0, WRITE=25.0, DELETE=5.0}
+     * @param <T>     the item type
+     * @return a supplier picking each key with probability proportional to its weight, in O(1) per pick
+     */
+    public static <T> WeightedSampler<T> weightedFrom(final Map<? extends T, Double> weights)
     {
-        final Calendar cal = Calendar.getInstance();
-
-        cal.setTime(from);
-        final BigDecimal decFrom = new BigDecimal(cal.getTimeInMillis());
-
-        cal.setTime(to);
-        final BigDecimal decTo = new BigDecimal(cal.getTimeInMillis());
-
-        final BigDecimal difference = decTo.subtract(decFrom);
-        final BigDecimal factor = difference.multiply(new BigDecimal(Math.random()));
+        return WeightedSampler.of(weights);
+    }
 
-        return new Date((factor.add(decFrom)).longValue());
+    public static <T> WeightedSampler<T> weightedFrom(final T[] items, final double[] weights)
+    {
+        return WeightedSampler.of(items, weights);
     }
 
-    public static LocalDateTime randomDateBetween(final LocalDateTime from, final LocalDateTime to)
+    /**
+     * @param weights the weights of the indices 0 to weights.length - 1
+     * @return a supplier of indices picked with probability proportional to their weights
+     */
+    public static IntSupplier weightedIndex(final double... weights)
     {
-        return LocalDateTime.ofInstant(Instant.ofEpochMilli(randomDateBetween(Date.from(
-                from.atZone(ZoneId.systemDefault())
-                    .toInstant()), Date.from(to.atZone(ZoneId.systemDefault())
-                                               .toInstant())).getTime()), ZoneId.systemDefault());
+        Objects.requireNonNull(weights, "weights cannot be null");
+        final AliasTable table = new AliasTable(weights.clone());
+        return () -> table.next(source());
     }
 
-    public static boolean randomBoolean()
+    /**
+     * @return a standard normal value, mean 0 and standard deviation 1
+     */
+    public static double randomGaussian()
     {
-        return nextInt(0, 2) == 0;
+        return Distributions.nextGaussian(source());
     }
 
-    public static String randomString(final int a, final int b)
+    /**
+     * @return an exponential value with mean 1
+     */
+    public static double randomExponential()
     {
-        return randomString(nextInt(a, b));
+        return Distributions.nextExponential(source());
     }
 
-    public static <T> T[] randomArray(Class<T[]> clazz, final Supplier<T> factory, final int n)
+    public static Supplier<Double> gaussianFactory(final double mean, final double standardDeviation)
     {
-        final T[] ts = clazz.cast(Array.newInstance(clazz.getComponentType(), n));
-        for (int i = 0; i < ts.length; i++)
-        {
-            ts[i] = factory.get();
-        }
-        return ts;
+        final DoubleSupplier distribution = Distributions.gaussian(mean, standardDeviation);
+        return distribution::getAsDouble;
     }
 
-    public static Supplier<String> randomStringFactory(final int n)
+    public static Supplier<Double> logNormalFactory(final double mu, final double sigma)
     {
-        return () -> randomString(n);
+        final DoubleSupplier distribution = Distributions.logNormal(mu, sigma);
+        return distribution::getAsDouble;
     }
 
-    public static Supplier<String> randomNumericFactory(final int n)
+    public static Supplier<Double> exponentialFactory(final double mean)
     {
-        return () -> randomNumeric(n);
+        final DoubleSupplier distribution = Distributions.exponential(mean);
+        return distribution::getAsDouble;
     }
 
-    public static Supplier<String> randomAlphabeticFactory(final int n)
+    public static Supplier<Double> paretoFactory(final double scale, final double shape)
     {
-        return () -> randomAlphabetic(n);
+        final DoubleSupplier distribution = Distributions.pareto(scale, shape);
+        return distribution::getAsDouble;
     }
 
-    public static Supplier<String> randomAlphanumericFactory(final int n)
+    public static Supplier<Integer> poissonFactory(final double mean)
     {
-        return () -> randomAlphanumeric(n);
+        final IntSupplier distribution = Distributions.poisson(mean);
+        return distribution::getAsInt;
     }
 
-    public static Supplier<String> randomAsciiFactory(final int n)
+    /**
+     * @param ranks    the number of ranks
+     * @param exponent the skew
+     * @return ranks in [1, ranks] following Zipf's law, see {@link Distributions#zipf(int, double)}
+     */
+    public static Supplier<Integer> zipfFactory(final int ranks, final double exponent)
     {
-        return () -> randomAscii(n);
+        final IntSupplier distribution = Distributions.zipf(ranks, exponent);
+        return distribution::getAsInt;
     }
 
-    public static <T> Set<T> randomSetFrom(final Collection<T> collection)
+    public static Supplier<Long> zipfFactory(final long ranks, final double exponent)
     {
-        final Set<T> collect = collection.stream()
-                                         .collect(toSet());
-        final List<Set<T>> possibleSets = powerSet(collect).stream()
-                                                           .collect(toList());
+        final LongSupplier distribution = Distributions.zipf(ranks, exponent);
+        return distribution::getAsLong;
+    }
 
-        return possibleSets.get(nextInt(0, possibleSets.size()));
+    /**
+     * @param from one end of the range
+     * @param to   the other end of the range
+     * @return a date between the two, the later one excluded
+     */
+    public static Date randomDateBetween(final Date from, final Date to)
+    {
+        final long low = Math.min(from.getTime(), to.getTime());
+        final long high = Math.max(from.getTime(), to.getTime());
+        return new Date(low == high ? low : source().nextLong(low, high));
     }
 
-    public static <T> Set<T> randomSetFrom(final int n, final Collection<T> collection)
+    public static LocalDateTime randomDateBetween(final LocalDateTime from, final LocalDateTime to)
     {
-        PintoCheck.Argument.notLessThan(collection.size(), n,
-                                        "cannot produce a set of n items from a collection that has a size smaller than n");
-        final Set<T> inputConvertedToSet = collection.stream().collect(toSet());
-        final Set<Set<T>> allPossibleCombinationsRegardLessOfSize = powerSet(inputConvertedToSet);
-        final List<Set<T>> removeAllIncorrectlySizedCombinations = allPossibleCombinationsRegardLessOfSize
-                .stream()
-                .filter(input -> input.size() == n)
-                .collect(toList());
+        Objects.requireNonNull(from, "from cannot be null");
+        Objects.requireNonNull(to, "to cannot be null");
+        //like the Date overload, the ends may come in either order
+        final LocalDateTime low = from.isAfter(to) ? to : from;
+        final LocalDateTime high = from.isAfter(to) ? from : to;
+        return between(low.toEpochSecond(ZoneOffset.UTC), low.getNano(), high.toEpochSecond(ZoneOffset.UTC), high.getNano(),
+                       (second, nano) -> LocalDateTime.ofEpochSecond(second, nano, ZoneOffset.UTC));
+    }
 
-        final int index = nextInt(0, removeAllIncorrectlySizedCombinations.size());
-        return removeAllIncorrectlySizedCombinations.get(index);
+    public static Date randomDate()
+    {
+        return new Date(source().nextLong());
     }
 
-    public static <T> T randomNotIn(final Supplier<T> tFactory, Collection<T> ts)
+    /**
+     * @return an instant within the range of {@link Date}, see {@link #MIN_DATE} and {@link #MAX_DATE}
+     */
+    public static Instant randomInstant()
     {
-        while (true)
-        {
-            final T t = tFactory.get();
-            if (!ts.contains(t))
-            {
-                return t;
-            }
-        }
+        return between(MIN_EPOCH_SECOND, 0, MAX_EPOCH_SECOND, 0, Instant::ofEpochSecond);
     }
 
-    public static String randomCase(final String s)
+    /**
+     * @param from the earliest instant
+     * @param to   the instant after the latest, or from itself
+     * @return an instant in [from, to), down to the nanosecond
+     */
+    public static Instant randomInstantBetween(final Instant from, final Instant to)
     {
-        final StringBuilder sb = new StringBuilder(s.length());
-        IntStream.range(0, s.length())
-                 .forEach(i -> sb.append(
-                         randomBoolean() ? Character.toUpperCase(s.charAt(i)) : Character.toLowerCase(s.charAt(i))));
-        return sb.toString();
+        Objects.requireNonNull(from, "from cannot be null");
+        Objects.requireNonNull(to, "to cannot be null");
+        return between(from.getEpochSecond(), from.getNano(), to.getEpochSecond(), to.getNano(), Instant::ofEpochSecond);
     }
 
-    public static String randomXml10String(final int n)
+    public static LocalDateTime randomLocalDateTime()
     {
-        final String result = randomString(n).replaceAll(XML_1_0PATTERN, "");
-        final int length = result.length();
-        if (length < n)
-        {
-            return result + randomXml10String(n - length);
-        }
-        else
-        {
-            return result;
-        }
+        return between(MIN_EPOCH_SECOND, 0, MAX_EPOCH_SECOND, 0,
+                       (second, nano) -> LocalDateTime.ofEpochSecond(second, nano, ZoneOffset.UTC));
     }
 
-    public static String randomXml10String(final int a, final int b)
+    public static LocalDate randomLocalDate()
     {
-        final int count = nextInt(a, b);
-        return randomXml10String(count);
+        return LocalDate.ofEpochDay(source().nextLong(MIN_EPOCH_SECOND / SECONDS_PER_DAY, MAX_EPOCH_SECOND / SECONDS_PER_DAY));
     }
 
-    public static String randomString(final int count) {
-        return randomString(count, false, false);
+    /**
+     * @param from the earliest date
+     * @param to   the day after the latest date, or from itself
+     * @return a date in [from, to)
+     */
+    public static LocalDate randomLocalDateBetween(final LocalDate from, final LocalDate to)
+    {
+        final long low = from.toEpochDay();
+        final long high = to.toEpochDay();
+        boundsCheck(low <= high);
+        return low == high ? from : LocalDate.ofEpochDay(source().nextLong(low, high));
     }
 
-    public static String randomAscii(final int count) {
-        return randomString(count, 32, 127, false, false);
+    public static LocalTime randomLocalTime()
+    {
+        return LocalTime.ofNanoOfDay(source().nextLong(NANOS_PER_DAY));
     }
 
-    public static String randomAlphabetic(final int count) {
-        return randomString(count, true, false);
+    /**
+     * @return an offset between -18:00 and +18:00 in quarter hours, like real zone offsets
+     */
+    public static ZoneOffset randomZoneOffset()
+    {
+        return ZoneOffset.ofTotalSeconds(SECONDS_PER_QUARTER_HOUR * source().nextInt(-MAX_OFFSET_QUARTERS, MAX_OFFSET_QUARTERS + 1));
     }
 
-    public static String randomAlphanumeric(final int count) {
-        return randomString(count, true, true);
+    public static OffsetDateTime randomOffsetDateTime()
+    {
+        final ZoneOffset offset = randomZoneOffset();
+        return between(MIN_EPOCH_SECOND, 0, MAX_EPOCH_SECOND, 0,
+                       (second, nano) -> OffsetDateTime.of(LocalDateTime.ofEpochSecond(second, nano, offset), offset));
     }
 
-    public static String randomNumeric(final int count) {
-        return randomString(count, false, true);
+    /**
+     * zoned date times get a fixed offset as their zone, region zones would compute and cache transition rules for
+     * every random year
+     */
+    public static ZonedDateTime randomZonedDateTime()
+    {
+        final ZoneOffset offset = randomZoneOffset();
+        return between(MIN_EPOCH_SECOND, 0, MAX_EPOCH_SECOND, 0,
+                       (second, nano) -> ZonedDateTime.of(LocalDateTime.ofEpochSecond(second, nano, offset), offset));
     }
 
-    public static String randomString(final int count, final boolean letters, final boolean numbers) {
-        return randomString(count, 0, 0, letters, numbers);
+    /**
+     * @return a non-negative duration shorter than 100 years, down to the nanosecond
+     */
+    public static Duration randomDuration()
+    {
+        return between(0L, 0, MAX_DURATION_SECONDS, 0, Duration::ofSeconds);
     }
 
-    public static String randomString(final int count, final int start, final int end, final boolean letters, final boolean numbers) {
-        return randomString(count, start, end, letters, numbers, null, RANDOM);
+    /**
+     * @param from the shortest duration
+     * @param to   the duration after the longest, or from itself
+     * @return a duration in [from, to)
+     */
+    public static Duration randomDurationBetween(final Duration from, final Duration to)
+    {
+        Objects.requireNonNull(from, "from cannot be null");
+        Objects.requireNonNull(to, "to cannot be null");
+        return between(from.getSeconds(), from.getNano(), to.getSeconds(), to.getNano(), Duration::ofSeconds);
     }
 
-    public static String randomString(final int count, final int start, final int end, final boolean letters, final boolean numbers, final char... chars) {
-        return randomString(count, start, end, letters, numbers, chars, RANDOM);
+    @FunctionalInterface
+    private interface EpochFactory<T>
+    {
+        T of(long second, int nano);
     }
 
-    public static String randomString(int count, int start, int end, final boolean letters, final boolean numbers,
-                                final char[] chars, final Random random) {
-        if (count == 0) {
-            return "";
-        } else if (count < 0) {
-            throw new IllegalArgumentException("Requested randomString string length " + count + " is less than 0.");
+    /**
+     * draws a point in [from, to) of a timeline counted in seconds and nanoseconds, with plain long arithmetic
+     */
+    private static <T> T between(final long fromSecond, final int fromNano, final long toSecond, final int toNano,
+                                 final EpochFactory<T> factory)
+    {
+        final int order = toSecond != fromSecond ? Long.compare(toSecond, fromSecond) : Integer.compare(toNano, fromNano);
+        boundsCheck(order >= 0);
+        if (order == 0)
+        {
+            return factory.of(fromSecond, fromNano);
         }
-        if (chars != null && chars.length == 0) {
-            throw new IllegalArgumentException("The chars array must not be empty");
+        final RandomSource random = source();
+        final long seconds = toSecond - fromSecond;
+        if (seconds >= 0L && seconds < Long.MAX_VALUE / NANOS_PER_SECOND - 1L)
+        {
+            //the whole range fits in a long count of nanoseconds
+            final long offset = fromNano + random.nextLong(seconds * NANOS_PER_SECOND + toNano - fromNano);
+            return factory.of(fromSecond + offset / NANOS_PER_SECOND, (int) (offset % NANOS_PER_SECOND));
         }
-
-        if (start == 0 && end == 0) {
-            if (chars != null) {
-                end = chars.length;
-            } else {
-                if (!letters && !numbers) {
-                    end = Integer.MAX_VALUE;
-                } else {
-                    end = 'z' + 1;
-                    start = ' ';
-                }
-            }
-        } else {
-            if (end <= start) {
-                throw new IllegalArgumentException("Parameter end (" + end + ") must be greater than start (" + start + ")");
+        //over 292 years, whole seconds are drawn first, the nanoseconds of the last second are left out
+        while (true)
+        {
+            final long second = random.nextLong(fromSecond, toSecond);
+            final int nano = random.nextInt((int) NANOS_PER_SECOND);
+            if (second != fromSecond || nano >= fromNano)
+            {
+                return factory.of(second, nano);
             }
         }
+    }
 
-        final char[] buffer = new char[count];
-        final int gap = end - start;
+    /**
+     * a version 4 UUID from the thread's source, with none of the cost of {@link UUID#randomUUID()}'s SecureRandom.
+     * not fit for anything that must be unguessable.
+     *
+     * @return a random UUID
+     */
+    public static UUID randomUUID()
+    {
+        final RandomSource random = source();
+        final long mostSignificantBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        final long leastSignificantBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
 
-        while (count-- != 0) {
-            char ch;
-            if (chars == null) {
-                ch = (char) (random.nextInt(gap) + start);
-            } else {
-                ch = chars[random.nextInt(gap) + start];
-            }
-            if (letters && Character.isLetter(ch)
-                || numbers && Character.isDigit(ch)
-                || !letters && !numbers) {
-                if(ch >= 56320 && ch <= 57343) {
-                    if(count == 0) {
-                        count++;
-                    } else {
-                        // low surrogate, insert high surrogate after putting it in
-                        buffer[count] = ch;
-                        count--;
-                        buffer[count] = (char) (55296 + random.nextInt(128));
-                    }
-                } else if(ch >= 55296 && ch <= 56191) {
-                    if(count == 0) {
-                        count++;
-                    } else {
-                        // high surrogate, insert low surrogate before putting it in
-                        buffer[count] = (char) (56320 + random.nextInt(128));
-                        count--;
-                        buffer[count] = ch;
-                    }
-                } else if(ch >= 56192 && ch <= 56319) {
-                    // private high surrogate, no effing clue, so skip it
-                    count++;
-                } else {
-                    buffer[count] = ch;
-                }
-            } else {
-                count++;
-            }
+    /**
+     * @return a version 7 UUID for the current time, so UUIDs of later milliseconds sort after earlier ones
+     */
+    public static UUID randomTimeOrderedUUID()
+    {
+        return randomTimeOrderedUUID(System.currentTimeMillis());
+    }
+
+    /**
+     * @param epochMillis the timestamp, only its low 48 bits are kept
+     * @return a version 7 UUID: the timestamp in the top 48 bits, then 74 random bits around the version and variant
+     */
+    public static UUID randomTimeOrderedUUID(final long epochMillis)
+    {
+        final RandomSource random = source();
+        final long mostSignificantBits = (epochMillis << 16) | 0x7000L | (random.nextLong() & 0x0FFFL);
+        final long leastSignificantBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    /**
+     * @param numBits the bit length to draw, not negative
+     * @return a uniform BigInteger in [0, 2^numBits)
+     */
+    public static BigInteger randomBigInteger(final int numBits)
+    {
+        PintoCheck.Argument.notLessThan(numBits, 0, "numBits cannot be negative");
+        final byte[] magnitude = new byte[(numBits + 7) >>> 3];
+        source().nextBytes(magnitude);
+        if (magnitude.length > 0)
+        {
+            //drop the bits above numBits from the most significant byte
+            magnitude[0] &= (byte) (0xFF >>> ((magnitude.length << 3) - numBits));
         }
-        return new String(buffer);
+        return new BigInteger(1, magnitude);
     }
 
-    public static String randomString(final int count, final String chars) {
-        if (chars == null) {
-            return randomString(count, 0, 0, false, false, null, RANDOM);
+    /**
+     * @param bound the exclusive upper bound, positive
+     * @return a uniform BigInteger in [0, bound)
+     */
+    public static BigInteger randomBigInteger(final BigInteger bound)
+    {
+        Objects.requireNonNull(bound, "bound cannot be null");
+        if (bound.signum() <= 0)
+        {
+            throw new IllegalArgumentException("bound must be positive, found " + bound);
+        }
+        if (bound.bitLength() < Long.SIZE)
+        {
+            return BigInteger.valueOf(source().nextLong(bound.longValue()));
+        }
+        //each draw lands below the bound with a chance of more than one half
+        while (true)
+        {
+            final BigInteger candidate = randomBigInteger(bound.bitLength());
+            if (candidate.compareTo(bound) < 0)
+            {
+                return candidate;
+            }
+        }
+    }
+
+    /**
+     * @return a BigInteger of either sign with up to 128 bits
+     */
+    public static BigInteger randomBigInteger()
+    {
+        final BigInteger magnitude = randomBigInteger(source().nextInt(1, DEFAULT_BIG_INTEGER_BITS + 1));
+        return randomBoolean() ? magnitude.negate() : magnitude;
+    }
+
+    /**
+     * @param precision the most digits of the unscaled value, positive
+     * @param scale     the scale of the result
+     * @return a BigDecimal of either sign with at most precision digits and the given scale
+     */
+    public static BigDecimal randomBigDecimal(final int precision, final int scale)
+    {
+        PintoCheck.Argument.notLessThan(precision, 1, "precision must be positive");
+        if (precision < LONG_POWERS_OF_TEN.length)
+        {
+            final long bound = LONG_POWERS_OF_TEN[precision];
+            return BigDecimal.valueOf(source().nextLong(-bound + 1, bound), scale);
+        }
+        final BigInteger unscaled = randomBigInteger(BigInteger.TEN.pow(precision));
+        return new BigDecimal(randomBoolean() ? unscaled.negate() : unscaled, scale);
+    }
+
+    /**
+     * @return a BigDecimal with up to 18 digits and a scale between 0 and 9
+     */
+    public static BigDecimal randomBigDecimal()
+    {
+        return randomBigDecimal(DEFAULT_BIG_DECIMAL_PRECISION, source().nextInt(0, DEFAULT_BIG_DECIMAL_MAX_SCALE + 1));
+    }
+
+    public static boolean randomBoolean()
+    {
+        return source().nextBoolean();
+    }
+
+    public static String randomString(final int a, final int b)
+    {
+        return randomString(nextInt(a, b));
+    }
+
+    public static <T> T[] randomArray(Class<T[]> clazz, final Supplier<T> factory, final int n)
+    {
+        final T[] ts = clazz.cast(Array.newInstance(clazz.getComponentType(), n));
+        for (int i = 0; i < ts.length; i++)
+        {
+            ts[i] = factory.get();
+        }
+        return ts;
+    }
+
+    /**
+     * fills the whole array with ints drawn from the full int range
+     *
+     * @param array the array to fill
+     * @return the same array
+     */
+    public static int[] fill(final int[] array)
+    {
+        final RandomSource random = source();
+        for (int i = 0; i < array.length; i++)
+        {
+            array[i] = random.nextInt();
+        }
+        return array;
+    }
+
+    /**
+     * @param array the array to fill
+     * @param lo    inclusive lower bound
+     * @param hi    exclusive upper bound, or lo to fill with lo
+     * @return the same array
+     */
+    public static int[] fill(final int[] array, final int lo, final int hi)
+    {
+        return fill(array, 0, array.length, lo, hi);
+    }
+
+    /**
+     * fills array[fromIndex, toIndex) with ints drawn from [lo, hi)
+     *
+     * @return the same array
+     */
+    public static int[] fill(final int[] array, final int fromIndex, final int toIndex, final int lo, final int hi)
+    {
+        rangeCheck(array.length, fromIndex, toIndex);
+        boundsCheck(lo <= hi);
+        if (lo == hi)
+        {
+            Arrays.fill(array, fromIndex, toIndex, lo);
+            return array;
+        }
+        final RandomSource random = source();
+        for (int i = fromIndex; i < toIndex; i++)
+        {
+            array[i] = random.nextInt(lo, hi);
+        }
+        return array;
+    }
+
+    public static long[] fill(final long[] array)
+    {
+        final RandomSource random = source();
+        for (int i = 0; i < array.length; i++)
+        {
+            array[i] = random.nextLong();
+        }
+        return array;
+    }
+
+    public static long[] fill(final long[] array, final long lo, final long hi)
+    {
+        return fill(array, 0, array.length, lo, hi);
+    }
+
+    /**
+     * fills array[fromIndex, toIndex) with longs drawn from [lo, hi)
+     *
+     * @return the same array
+     */
+    public static long[] fill(final long[] array, final int fromIndex, final int toIndex, final long lo, final long hi)
+    {
+        rangeCheck(array.length, fromIndex, toIndex);
+        boundsCheck(lo <= hi);
+        if (lo == hi)
+        {
+            Arrays.fill(array, fromIndex, toIndex, lo);
+            return array;
+        }
+        final RandomSource random = source();
+        for (int i = fromIndex; i < toIndex; i++)
+        {
+            array[i] = random.nextLong(lo, hi);
+        }
+        return array;
+    }
+
+    /**
+     * fills the whole array with doubles drawn from [0, 1)
+     *
+     * @param array the array to fill
+     * @return the same array
+     */
+    public static double[] fill(final double[] array)
+    {
+        final RandomSource random = source();
+        for (int i = 0; i < array.length; i++)
+        {
+            array[i] = random.nextDouble();
+        }
+        return array;
+    }
+
+    public static double[] fill(final double[] array, final double lo, final double hi)
+    {
+        return fill(array, 0, array.length, lo, hi);
+    }
+
+    /**
+     * fills array[fromIndex, toIndex) with doubles drawn from [lo, hi)
+     *
+     * @return the same array
+     */
+    public static double[] fill(final double[] array, final int fromIndex, final int toIndex, final double lo, final double hi)
+    {
+        rangeCheck(array.length, fromIndex, toIndex);
+        boundsCheck(lo < hi && Double.isFinite(hi - lo));
+        final RandomSource random = source();
+        final double width = hi - lo;
+        for (int i = fromIndex; i < toIndex; i++)
+        {
+            final double d = lo + width * random.nextDouble();
+            //rounding can land exactly on hi
+            array[i] = d < hi ? d : Math.nextDown(hi);
+        }
+        return array;
+    }
+
+    public static float[] fill(final float[] array)
+    {
+        final RandomSource random = source();
+        for (int i = 0; i < array.length; i++)
+        {
+            array[i] = random.nextFloat();
+        }
+        return array;
+    }
+
+    public static short[] fill(final short[] array)
+    {
+        final RandomSource random = source();
+        int i = 0;
+        for (; i + 4 <= array.length; i += 4)
+        {
+            final long bits = random.nextLong();
+            array[i] = (short) bits;
+            array[i + 1] = (short) (bits >>> 16);
+            array[i + 2] = (short) (bits >>> 32);
+            array[i + 3] = (short) (bits >>> 48);
+        }
+        for (; i < array.length; i++)
+        {
+            array[i] = (short) (random.nextInt() >>> 16);
+        }
+        return array;
+    }
+
+    public static boolean[] fill(final boolean[] array)
+    {
+        final RandomSource random = source();
+        for (int i = 0; i < array.length; i++)
+        {
+            array[i] = random.nextBoolean();
+        }
+        return array;
+    }
+
+    public static byte[] fill(final byte[] array)
+    {
+        source().nextBytes(array);
+        return array;
+    }
+
+    /**
+     * @param array the array to fill with chars that are not surrogates, like {@link #randomChar()}
+     * @return the same array
+     */
+    public static char[] fill(final char[] array)
+    {
+        final RandomSource random = source();
+        for (int i = 0; i < array.length; i++)
+        {
+            array[i] = randomChar(random);
+        }
+        return array;
+    }
+
+    /**
+     * @param array    the array to fill
+     * @param alphabet the chars to draw from
+     * @return the same array
+     */
+    public static char[] fill(final char[] array, final Alphabet alphabet)
+    {
+        Objects.requireNonNull(alphabet, "alphabet cannot be null");
+        final RandomSource random = source();
+        final int size = alphabet.size();
+        for (int i = 0; i < array.length; i++)
+        {
+            array[i] = alphabet.charAt(random.nextInt(size));
+        }
+        return array;
+    }
+
+    public static int[] ints(final int n)
+    {
+        return fill(new int[checkedCount(n)]);
+    }
+
+    public static int[] ints(final int n, final int lo, final int hi)
+    {
+        return fill(new int[checkedCount(n)], lo, hi);
+    }
+
+    public static long[] longs(final int n)
+    {
+        return fill(new long[checkedCount(n)]);
+    }
+
+    public static long[] longs(final int n, final long lo, final long hi)
+    {
+        return fill(new long[checkedCount(n)], lo, hi);
+    }
+
+    public static double[] doubles(final int n)
+    {
+        return fill(new double[checkedCount(n)]);
+    }
+
+    public static double[] doubles(final int n, final double lo, final double hi)
+    {
+        return fill(new double[checkedCount(n)], lo, hi);
+    }
+
+    public static float[] floats(final int n)
+    {
+        return fill(new float[checkedCount(n)]);
+    }
+
+    public static short[] shorts(final int n)
+    {
+        return fill(new short[checkedCount(n)]);
+    }
+
+    public static char[] chars(final int n)
+    {
+        return fill(new char[checkedCount(n)]);
+    }
+
+    public static boolean[] booleans(final int n)
+    {
+        return fill(new boolean[checkedCount(n)]);
+    }
+
+    public static byte[] bytes(final int n)
+    {
+        return fill(new byte[checkedCount(n)]);
+    }
+
+    /**
+     * a sized stream of ints, splitting it for parallel work gives every split its own source
+     *
+     * @param count the number of values
+     * @return the stream
+     */
+    public static IntStream randomInts(final long count)
+    {
+        return RandomStreams.ints(source().split(), count, 0, 0, false);
+    }
+
+    /**
+     * @param count the number of values
+     * @param lo    inclusive lower bound
+     * @param hi    exclusive upper bound
+     * @return a sized stream of ints in [lo, hi)
+     */
+    public static IntStream randomInts(final long count, final int lo, final int hi)
+    {
+        boundsCheck(lo < hi);
+        return RandomStreams.ints(source().split(), count, lo, hi, true);
+    }
+
+    public static LongStream randomLongs(final long count)
+    {
+        return RandomStreams.longs(source().split(), count, 0L, 0L, false);
+    }
+
+    public static LongStream randomLongs(final long count, final long lo, final long hi)
+    {
+        boundsCheck(lo < hi);
+        return RandomStreams.longs(source().split(), count, lo, hi, true);
+    }
+
+    /**
+     * @param count the number of values
+     * @return a sized stream of doubles in [0, 1)
+     */
+    public static DoubleStream randomDoubles(final long count)
+    {
+        return RandomStreams.doubles(source().split(), count, 0.0, 1.0);
+    }
+
+    public static DoubleStream randomDoubles(final long count, final double lo, final double hi)
+    {
+        boundsCheck(lo < hi && Double.isFinite(hi - lo));
+        return RandomStreams.doubles(source().split(), count, lo, hi);
+    }
+
+    /**
+     * @param count    the number of strings
+     * @param length   the length of every string
+     * @param alphabet the chars to draw from
+     * @return a sized stream of random strings
+     */
+    public static Stream<String> randomStrings(final long count, final int length, final Alphabet alphabet)
+    {
+        Objects.requireNonNull(alphabet, "alphabet cannot be null");
+        if (length < 0)
+        {
+            throw new IllegalArgumentException("Requested randomString string length " + length + " is less than 0.");
+        }
+        return RandomStreams.strings(source().split(), count, length, alphabet);
+    }
+
+    private static int checkedCount(final int n)
+    {
+        if (n < 0)
+        {
+            throw new IllegalArgumentException("Count cannot be negative");
+        }
+        return n;
+    }
+
+    private static void rangeCheck(final int length, final int fromIndex, final int toIndex)
+    {
+        if (fromIndex > toIndex)
+        {
+            throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+        }
+        if (fromIndex < 0 || toIndex > length)
+        {
+            throw new ArrayIndexOutOfBoundsException("[" + fromIndex + ", " + toIndex + ") is outside an array of length " + length);
+        }
+    }
+
+    private static void boundsCheck(final boolean valid)
+    {
+        if (!valid)
+        {
+            throw new IllegalArgumentException("Start value must be smaller or equal to end value.");
+        }
+    }
+
+    public static Supplier<String> randomStringFactory(final int n)
+    {
+        return () -> randomString(n);
+    }
+
+    public static Supplier<String> randomNumericFactory(final int n)
+    {
+        return () -> randomNumeric(n);
+    }
+
+    public static Supplier<String> randomAlphabeticFactory(final int n)
+    {
+        return () -> randomAlphabetic(n);
+    }
+
+    public static Supplier<String> randomAlphanumericFactory(final int n)
+    {
+        return () -> randomAlphanumeric(n);
+    }
+
+    public static Supplier<String> randomAsciiFactory(final int n)
+    {
+        return () -> randomAscii(n);
+    }
+
+    /**
+     * every subset is equally likely: each distinct element is kept on a fair coin flip
+     *
+     * @param collection the elements, duplicates count once
+     * @param <T>        the element type
+     * @return a uniformly random subset of the distinct elements
+     */
+    public static <T> Set<T> randomSetFrom(final Collection<T> collection)
+    {
+        Objects.requireNonNull(collection, "collection cannot be null");
+        final RandomSource random = source();
+        final Set<T> result = new HashSet<>();
+        for (final T t : distinct(collection))
+        {
+            if (random.nextBoolean())
+            {
+                result.add(t);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param n          the size of the subset
+     * @param collection the elements, duplicates count once
+     * @param <T>        the element type
+     * @return a uniformly random subset of n distinct elements
+     */
+    public static <T> Set<T> randomSetFrom(final int n, final Collection<T> collection)
+    {
+        Objects.requireNonNull(collection, "collection cannot be null");
+        final List<T> elements = distinct(collection);
+        PintoCheck.Argument.notLessThan(elements.size(), n,
+                                        "cannot produce a set of n items from a collection that has a size smaller than n");
+        checkSampleSize(n, elements.size());
+        return new HashSet<>(floyd(n, elements, source()));
+    }
+
+    /**
+     * samples n positions of the list without replacement, in O(n) draws however long the list is
+     *
+     * @param n    the sample size
+     * @param list the list to sample, a {@link RandomAccess} list avoids walking it
+     * @param <T>  the element type
+     * @return the elements at n distinct, uniformly chosen positions
+     */
+    public static <T> List<T> randomSample(final int n, final List<T> list)
+    {
+        Objects.requireNonNull(list, "list cannot be null");
+        checkSampleSize(n, list.size());
+        final List<T> elements = list instanceof RandomAccess ? list : new ArrayList<>(list);
+        return floyd(n, elements, source());
+    }
+
+    /**
+     * samples n elements of an iterable of unknown size in a single pass, keeping only the sample in memory
+     *
+     * @param n        the sample size
+     * @param iterable the elements to sample
+     * @param <T>      the element type
+     * @return n elements at uniformly chosen positions, in no particular order
+     */
+    public static <T> List<T> randomSample(final int n, final Iterable<T> iterable)
+    {
+        Objects.requireNonNull(iterable, "iterable cannot be null");
+        return reservoir(n, iterable.iterator());
+    }
+
+    public static <T> List<T> randomSample(final int n, final Stream<T> stream)
+    {
+        Objects.requireNonNull(stream, "stream cannot be null");
+        return reservoir(n, stream.iterator());
+    }
+
+    private static <T> List<T> distinct(final Collection<T> collection)
+    {
+        return new ArrayList<>(collection instanceof Set ? collection : new LinkedHashSet<>(collection));
+    }
+
+    private static void checkSampleSize(final int n, final int size)
+    {
+        if (n < 0 || n > size)
+        {
+            throw new IllegalArgumentException("cannot sample " + n + " items from " + size + " items");
+        }
+    }
+
+    /**
+     * Floyd's algorithm: for each of the last n positions j pick a position in [0, j], taking j itself when the pick
+     * was already taken. every n-subset of positions comes out with the same probability.
+     */
+    private static <T> List<T> floyd(final int n, final List<T> elements, final RandomSource random)
+    {
+        final int size = elements.size();
+        final Set<Integer> taken = new HashSet<>(Math.max(16, n * 2));
+        final List<T> result = new ArrayList<>(n);
+        for (int j = size - n; j < size; j++)
+        {
+            final int pick = random.nextInt(j + 1);
+            final int position = taken.add(pick) ? pick : j;
+            taken.add(position);
+            result.add(elements.get(position));
+        }
+        return result;
+    }
+
+    /**
+     * Li's algorithm L: after the reservoir is full, jump straight to the next element that enters it instead of
+     * drawing once per element.
+     */
+    private static <T> List<T> reservoir(final int n, final Iterator<T> iterator)
+    {
+        if (n < 0)
+        {
+            throw new IllegalArgumentException("cannot sample " + n + " items");
+        }
+        final List<T> reservoir = new ArrayList<>(n);
+        while (reservoir.size() < n && iterator.hasNext())
+        {
+            reservoir.add(iterator.next());
+        }
+        checkSampleSize(n, reservoir.size());
+        if (n == 0)
+        {
+            return reservoir;
+        }
+        final RandomSource random = source();
+        double w = Math.exp(Math.log(openUnit(random)) / n);
+        while (true)
+        {
+            long skip = (long) Math.floor(Math.log(openUnit(random)) / Math.log(1.0 - w));
+            while (skip-- > 0L && iterator.hasNext())
+            {
+                iterator.next();
+            }
+            if (!iterator.hasNext())
+            {
+                return reservoir;
+            }
+            reservoir.set(random.nextInt(n), iterator.next());
+            w *= Math.exp(Math.log(openUnit(random)) / n);
+        }
+    }
+
+    //a double in (0, 1], safe to take the logarithm of
+    private static double openUnit(final RandomSource random)
+    {
+        return 1.0 - random.nextDouble();
+    }
+
+    /**
+     * draws from the factory until a value outside ts comes up, giving up after {@link #DEFAULT_NOT_IN_ATTEMPTS}
+     * draws. for int, long, char and enum domains prefer the xxxNotIn methods, which never retry.
+     */
+    public static <T> T randomNotIn(final Supplier<T> tFactory, Collection<T> ts)
+    {
+        return randomNotIn(tFactory, ts, DEFAULT_NOT_IN_ATTEMPTS);
+    }
+
+    /**
+     * @param tFactory    the values to draw from
+     * @param ts          the values to avoid, copied once into a hash set unless already a set
+     * @param maxAttempts how many draws to make before giving up
+     * @param <T>         the value type
+     * @return the first drawn value not in ts
+     * @throws IllegalStateException when every one of the maxAttempts draws was excluded
+     */
+    public static <T> T randomNotIn(final Supplier<T> tFactory, final Collection<T> ts, final int maxAttempts)
+    {
+        Objects.requireNonNull(tFactory, "factory cannot be null");
+        Objects.requireNonNull(ts, "exclusions cannot be null");
+        PintoCheck.Argument.notLessThan(maxAttempts, 1, "maxAttempts must be positive");
+        final Collection<T> excluded = ts instanceof Set ? ts : new HashSet<>(ts);
+        for (int attempt = 0; attempt < maxAttempts; attempt++)
+        {
+            final T t = tFactory.get();
+            if (!excluded.contains(t))
+            {
+                return t;
+            }
+        }
+        throw new IllegalStateException("no value outside the " + excluded.size() + " excluded values came up in "
+                                        + maxAttempts + " attempts");
+    }
+
+    /**
+     * picks uniformly among the values of [startInclusive, endExclusive) that are not excluded, by rank, so the cost
+     * does not depend on how much of the range is excluded
+     *
+     * @return a value of the range that is not excluded
+     */
+    public static int randomIntNotIn(final int startInclusive, final int endExclusive, final Collection<Integer> excluded)
+    {
+        return intNotInFactory(startInclusive, endExclusive, excluded).getAsInt();
+    }
+
+    /**
+     * sorts the exclusions once, after which every draw costs one bounded draw and a binary search over them
+     *
+     * @return a supplier of the values of [startInclusive, endExclusive) that are not excluded
+     */
+    public static IntSupplier intNotInFactory(final int startInclusive, final int endExclusive,
+                                              final Collection<Integer> excluded)
+    {
+        Objects.requireNonNull(excluded, "exclusions cannot be null");
+        boundsCheck(startInclusive < endExclusive);
+        final long[] offsets = sortedOffsets(excluded.stream().mapToLong(Integer::longValue), startInclusive, endExclusive);
+        final long width = (long) endExclusive - startInclusive;
+        checkNotAllExcluded(offsets, width);
+        return () -> (int) (startInclusive + nthNotExcluded(offsets, width));
+    }
+
+    public static long randomLongNotIn(final long startInclusive, final long endExclusive, final Collection<Long> excluded)
+    {
+        return longNotInFactory(startInclusive, endExclusive, excluded).getAsLong();
+    }
+
+    public static LongSupplier longNotInFactory(final long startInclusive, final long endExclusive,
+                                                final Collection<Long> excluded)
+    {
+        Objects.requireNonNull(excluded, "exclusions cannot be null");
+        boundsCheck(startInclusive < endExclusive);
+        final long width = endExclusive - startInclusive;
+        if (width < 0L)
+        {
+            //the range holds more than Long.MAX_VALUE values, so the exclusions are a vanishing fraction of it
+            final Set<Long> snapshot = new HashSet<>(excluded);
+            return () -> randomNotIn(() -> source().nextLong(startInclusive, endExclusive), snapshot);
+        }
+        final long[] offsets = sortedOffsets(excluded.stream().mapToLong(Long::longValue), startInclusive, endExclusive);
+        checkNotAllExcluded(offsets, width);
+        return () -> startInclusive + nthNotExcluded(offsets, width);
+    }
+
+    /**
+     * @param excluded the chars to avoid
+     * @return a char that is neither a surrogate nor excluded
+     */
+    public static char randomCharNotIn(final Collection<Character> excluded)
+    {
+        Objects.requireNonNull(excluded, "exclusions cannot be null");
+        final CodePointTable table = CodePointTable.BMP;
+        final long[] ranks = excluded.stream()
+                                     .mapToInt(Character::charValue)
+                                     .filter(table::contains)
+                                     .mapToLong(table::countBelow)
+                                     .sorted()
+                                     .distinct()
+                                     .toArray();
+        checkNotAllExcluded(ranks, table.size());
+        return (char) table.codePointAt((int) nthNotExcluded(ranks, table.size()));
+    }
+
+    /**
+     * @return a constant of the enum that is not excluded
+     */
+    public static <T extends Enum<T>> T randomNotIn(final Class<T> enumClass, final Collection<T> excluded)
+    {
+        Objects.requireNonNull(enumClass, "enum class cannot be null");
+        Objects.requireNonNull(excluded, "exclusions cannot be null");
+        final EnumSet<T> allowed = EnumSet.allOf(enumClass);
+        allowed.removeAll(excluded);
+        if (allowed.isEmpty())
+        {
+            throw new IllegalArgumentException("every constant of " + enumClass.getName() + " is excluded");
+        }
+        final int skip = source().nextInt(allowed.size());
+        final Iterator<T> iterator = allowed.iterator();
+        for (int i = 0; i < skip; i++)
+        {
+            iterator.next();
+        }
+        return iterator.next();
+    }
+
+    private static void checkNotAllExcluded(final long[] excluded, final long width)
+    {
+        if (excluded.length >= width)
+        {
+            throw new IllegalArgumentException("every value of the range is excluded");
+        }
+    }
+
+    //distinct offsets from start of the values in [start, end), ascending
+    private static long[] sortedOffsets(final LongStream values, final long start, final long end)
+    {
+        return values.filter(value -> value >= start && value < end)
+                     .map(value -> value - start)
+                     .sorted()
+                     .distinct()
+                     .toArray();
+    }
+
+    /**
+     * @param excluded ascending, distinct offsets in [0, width)
+     * @param width    the number of offsets in the domain
+     * @return a uniformly random offset in [0, width) that is not excluded
+     */
+    private static long nthNotExcluded(final long[] excluded, final long width)
+    {
+        final long rank = source().nextLong(width - excluded.length);
+        //the answer is rank + j for the smallest j with excluded[j] - j > rank, and excluded[j] - j never decreases
+        int low = 0;
+        int high = excluded.length;
+        while (low < high)
+        {
+            final int middle = (low + high) >>> 1;
+            if (excluded[middle] - middle > rank)
+            {
+                high = middle;
+            }
+            else
+            {
+                low = middle + 1;
+            }
+        }
+        return rank + low;
+    }
+
+    public static String randomCase(final String s)
+    {
+        final StringBuilder sb = new StringBuilder(s.length());
+        IntStream.range(0, s.length())
+                 .forEach(i -> sb.append(
+                         randomBoolean() ? Character.toUpperCase(s.charAt(i)) : Character.toLowerCase(s.charAt(i))));
+        return sb.toString();
+    }
+
+    /**
+     * @param byteLength the number of bytes
+     * @param mix        how often each encoded width is used
+     * @return valid UTF-8 of exactly byteLength bytes
+     */
+    public static byte[] randomUtf8(final int byteLength, final Utf8Mix mix)
+    {
+        Objects.requireNonNull(mix, "mix cannot be null");
+        final byte[] bytes = new byte[checkedCount(byteLength)];
+        mix.fill(bytes, 0, byteLength, source());
+        return bytes;
+    }
+
+    /**
+     * writes valid UTF-8 into target[offset, offset + length) in a single pass
+     */
+    public static byte[] randomUtf8(final byte[] target, final int offset, final int length, final Utf8Mix mix)
+    {
+        Objects.requireNonNull(target, "target cannot be null");
+        Objects.requireNonNull(mix, "mix cannot be null");
+        rangeCheck(target.length, offset, offset + length);
+        mix.fill(target, offset, length, source());
+        return target;
+    }
+
+    /**
+     * writes length bytes of valid UTF-8 at the buffer's position and advances it, for heap and direct buffers alike
+     *
+     * @return the same buffer
+     * @throws java.nio.BufferOverflowException when fewer than length bytes remain
+     */
+    public static ByteBuffer randomUtf8(final ByteBuffer target, final int length, final Utf8Mix mix)
+    {
+        Objects.requireNonNull(target, "target cannot be null");
+        Objects.requireNonNull(mix, "mix cannot be null");
+        mix.fill(target, length, source());
+        return target;
+    }
+
+    /**
+     * @param n the number of chars
+     * @return a string of n chars that are all allowed in an XML 1.0 document
+     */
+    public static String randomXml10String(final int n)
+    {
+        return randomChars(n, CodePointTable.XML_1_0);
+    }
+
+    public static String randomXml10String(final int a, final int b)
+    {
+        final int count = nextInt(a, b);
+        return randomXml10String(count);
+    }
+
+    /**
+     * @param n the number of chars
+     * @return a string of n chars that are all allowed in an XML 1.1 document
+     */
+    public static String randomXml11String(final int n)
+    {
+        return randomChars(n, CodePointTable.XML_1_1);
+    }
+
+    public static String randomXml11String(final int a, final int b)
+    {
+        final int count = nextInt(a, b);
+        return randomXml11String(count);
+    }
+
+    private static String randomChars(final int n, final CodePointTable table)
+    {
+        if (n < 0)
+        {
+            throw new IllegalArgumentException("Requested randomString string length " + n + " is less than 0.");
+        }
+        final char[] buffer = new char[n];
+        table.fill(buffer, source());
+        return new String(buffer);
+    }
+
+    public static String randomString(final int count) {
+        return randomString(count, false, false);
+    }
+
+    public static String randomAscii(final int count) {
+        return randomString(count, Alphabet.ASCII);
+    }
+
+    public static String randomAlphabetic(final int count) {
+        return randomString(count, Alphabet.ALPHABETIC);
+    }
+
+    public static String randomAlphanumeric(final int count) {
+        return randomString(count, Alphabet.ALPHANUMERIC);
+    }
+
+    public static String randomNumeric(final int count) {
+        return randomString(count, Alphabet.NUMERIC);
+    }
+
+    public static String randomString(final int count, final boolean letters, final boolean numbers) {
+        return randomString(count, 0, 0, letters, numbers);
+    }
+
+    public static String randomString(final int count, final int start, final int end, final boolean letters, final boolean numbers) {
+        return randomString(count, start, end, letters, numbers, null, source());
+    }
+
+    public static String randomString(final int count, final int start, final int end, final boolean letters, final boolean numbers, final char... chars) {
+        return randomString(count, start, end, letters, numbers, chars, source());
+    }
+
+    public static String randomString(final int count, final int start, final int end, final boolean letters, final boolean numbers,
+                                      final char[] chars, final Random random) {
+        return randomString(count, start, end, letters, numbers, chars, RandomSource.of(random));
+    }
+
+    private static String randomString(final int count, final int start, final int end, final boolean letters,
+                                       final boolean numbers, final char[] chars, final RandomSource random) {
+        if (count == 0) {
+            return "";
+        } else if (count < 0) {
+            throw new IllegalArgumentException("Requested randomString string length " + count + " is less than 0.");
+        }
+        if (chars != null && chars.length == 0) {
+            throw new IllegalArgumentException("The chars array must not be empty");
+        }
+
+        if (start == 0 && end == 0) {
+            if (chars != null) {
+                return Alphabet.ofChars(chars, 0, chars.length, letters, numbers).randomString(count, random);
+            }
+            if (letters && numbers) {
+                return Alphabet.ALPHANUMERIC.randomString(count, random);
+            }
+            if (letters) {
+                return Alphabet.ALPHABETIC.randomString(count, random);
+            }
+            if (numbers) {
+                return Alphabet.NUMERIC.randomString(count, random);
+            }
+            return randomChars(count, 0, Character.MAX_VALUE + 1, random);
+        }
+        if (end <= start) {
+            throw new IllegalArgumentException("Parameter end (" + end + ") must be greater than start (" + start + ")");
+        }
+        if (chars != null) {
+            return Alphabet.ofChars(chars, start, end, letters, numbers).randomString(count, random);
+        }
+        if (letters || numbers) {
+            return Alphabet.ofRange(start, end, letters, numbers).randomString(count, random);
+        }
+        return randomChars(count, start, end, random);
+    }
+
+    /**
+     * unfiltered chars straight from a range, too wide to be worth an alphabet table
+     */
+    private static String randomChars(final int count, final int start, final int end, final RandomSource random) {
+        //surrogates are written as pairs of a high and a low one that are both in the range
+        final int highStart = Math.max(start, Character.MIN_HIGH_SURROGATE);
+        final int highEnd = Math.min(end, Character.MAX_HIGH_SURROGATE + 1);
+        final int lowStart = Math.max(start, Character.MIN_LOW_SURROGATE);
+        final int lowEnd = Math.min(end, Character.MAX_LOW_SURROGATE + 1);
+        final boolean pairs = highStart < highEnd && lowStart < lowEnd;
+        if (start >= Character.MIN_SURROGATE && end <= Character.MAX_SURROGATE + 1 && (count % 2 != 0 || !pairs)) {
+            throw new IllegalArgumentException("a range of surrogates only can produce an even number of chars, "
+                                               + "and only if it has both high and low surrogates");
+        }
+        final char[] buffer = new char[count];
+        final int gap = end - start;
+        int i = 0;
+        while (i < count) {
+            final char ch = (char) (random.nextInt(gap) + start);
+            if (!Character.isSurrogate(ch)) {
+                buffer[i++] = ch;
+            } else if (pairs && i + 1 < count) {
+                // a lone surrogate is not text, write a pair of surrogates from the range instead
+                buffer[i++] = (char) random.nextInt(highStart, highEnd);
+                buffer[i++] = (char) random.nextInt(lowStart, lowEnd);
+            }
+        }
+        return new String(buffer);
+    }
+
+    /**
+     * @param count    the length of the string
+     * @param alphabet the chars to draw from
+     * @return a string of chars drawn uniformly from the alphabet
+     */
+    public static String randomString(final int count, final Alphabet alphabet) {
+        return Objects.requireNonNull(alphabet, "alphabet cannot be null").randomString(count, source());
+    }
+
+    public static String randomString(final int count, final String chars) {
+        if (chars == null) {
+            return randomString(count, 0, 0, false, false, null, source());
+        }
+        if (chars.isEmpty()) {
+            throw new IllegalArgumentException("The chars array must not be empty");
         }
-        return randomString(count, chars.toCharArray());
+        return randomString(count, Alphabet.of(chars));
     }
 
     public static String randomString(final int count, final char... chars) {
         if (chars == null) {
-            return randomString(count, 0, 0, false, false, null, RANDOM);
+            return randomString(count, 0, 0, false, false, null, source());
         }
-        return randomString(count, 0, chars.length, false, false, chars, RANDOM);
+        return randomString(count, 0, chars.length, false, false, chars, source());
     }
 }
@@ -0,0 +1,82 @@
+package com.codebreeze.testing;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Uniform picks from a fixed set of items. The items are copied into an array once, after which every pick costs
+ * a single bounded draw regardless of the kind or size of the original collection.
+ *
+ * @param <T> the item type
+ */
+public final class Sampler<T> implements Supplier<T>
+{
+    private static final ClassValue<Sampler<?>> ENUMS = new ClassValue<Sampler<?>>()
+    {
+        @Override
+        protected Sampler<?> computeValue(final Class<?> type)
+        {
+            return new Sampler<>(type.getEnumConstants());
+        }
+    };
+
+    private final Object[] items;
+
+    private Sampler(final Object[] items)
+    {
+        if (items.length == 0)
+        {
+            throw new IllegalArgumentException("cannot pick an element from an empty collection");
+        }
+        this.items = items;
+    }
+
+    /**
+     * @param collection the items, a snapshot is taken so later changes to the collection are not seen
+     * @param <T>        the item type
+     * @return a sampler of the items
+     */
+    public static <T> Sampler<T> of(final Collection<? extends T> collection)
+    {
+        Objects.requireNonNull(collection, "collection cannot be null");
+        return new Sampler<>(collection.toArray());
+    }
+
+    @SafeVarargs
+    public static <T> Sampler<T> of(final T... items)
+    {
+        Objects.requireNonNull(items, "cannot handle null set of objects");
+        return new Sampler<>(Arrays.copyOf(items, items.length, Object[].class));
+    }
+
+    /**
+     * @param enumClass the enum
+     * @param <T>       the enum type
+     * @return the sampler of the enum's constants, built once per enum class
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Enum<T>> Sampler<T> ofEnum(final Class<T> enumClass)
+    {
+        Objects.requireNonNull(enumClass, "enum class cannot be null");
+        return (Sampler<T>) ENUMS.get(enumClass);
+    }
+
+    public int size()
+    {
+        return items.length;
+    }
+
+    @Override
+    public T get()
+    {
+        return get(Randoms.source());
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(final RandomSource random)
+    {
+        return (T) items[random.nextInt(items.length)];
+    }
+}
@@ -0,0 +1,57 @@
+package com.codebreeze.testing;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-thread state that belongs to the random source the thread currently draws from, see {@link Randoms#source()}.
+ * A thread that starts drawing from a new source, such as the one a {@link RandomSession} binds, starts from fresh
+ * state, so a seeded run does not depend on what ran on the thread before it. A thread that goes back to a source it
+ * drew from before, as when a nested session ends, picks up that source's state where it left off, so nested
+ * sessions leave the outer run untouched. State of sources nobody draws from any more is dropped with the source.
+ *
+ * @param <S> the state type
+ */
+final class SourceLocal<S>
+{
+    private final Supplier<S> initial;
+    private final ThreadLocal<Slot<S>> slots = ThreadLocal.withInitial(Slot::new);
+
+    /**
+     * @param initial creates the state of a source the thread has not drawn from yet
+     */
+    SourceLocal(final Supplier<S> initial)
+    {
+        this.initial = Objects.requireNonNull(initial, "initial cannot be null");
+    }
+
+    /**
+     * @return the calling thread's state for the source it draws from
+     */
+    S get()
+    {
+        final Slot<S> slot = slots.get();
+        final RandomSource source = Randoms.source();
+        if (slot.source != source)
+        {
+            if (slot.source != null)
+            {
+                slot.left.put(slot.source, slot.state);
+            }
+            final S state = slot.left.remove(source);
+            slot.source = source;
+            slot.state = state == null ? initial.get() : state;
+        }
+        return slot.state;
+    }
+
+    private static final class Slot<S>
+    {
+        private RandomSource source;
+        private S state;
+        //sources the thread drew from before, held weakly so that finished sessions do not pile up
+        private final Map<RandomSource, S> left = new WeakHashMap<>();
+    }
+}
@@ -0,0 +1,198 @@
+package com.codebreeze.testing;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * How often random UTF-8 text uses code points of each encoded width: 1 byte (ASCII), 2 bytes (e.g. Latin
+ * supplements, Greek, Cyrillic), 3 bytes (the rest of the BMP, e.g. CJK) and 4 bytes (supplementary planes, e.g.
+ * emoji). The mix writes valid UTF-8 straight into byte arrays and buffers, one code point per width draw.
+ */
+public final class Utf8Mix
+{
+    public static final Utf8Mix ASCII = of(1.0, 0.0, 0.0, 0.0);
+
+    /**
+     * every width equally likely
+     */
+    public static final Utf8Mix EVEN = of(1.0, 1.0, 1.0, 1.0);
+
+    /**
+     * mostly ASCII with some multi-byte text, roughly what web payloads look like
+     */
+    public static final Utf8Mix WEB = of(0.85, 0.08, 0.05, 0.02);
+
+    private static final int CHUNK_SIZE = 8192;
+    //direct buffers are filled through this per-thread chunk, so that filling one allocates nothing
+    private static final ThreadLocal<byte[]> CHUNKS = ThreadLocal.withInitial(() -> new byte[CHUNK_SIZE]);
+    private static final int TWO_BYTE_COUNT = 0x800 - 0x80;
+    private static final int THREE_BYTE_COUNT = 0x10000 - 0x800 - (Character.MAX_SURROGATE - Character.MIN_SURROGATE + 1);
+    private static final int FOUR_BYTE_COUNT = Character.MAX_CODE_POINT + 1 - Character.MIN_SUPPLEMENTARY_CODE_POINT;
+    //below this many bytes which lengths can be filled is looked up, above it only the gcd of the widths matters
+    private static final int SMALL_LENGTHS = 16;
+
+    private final AliasTable widths;
+    private final boolean[] hasWidth = new boolean[5];
+    private final boolean[] canFillSmall = new boolean[SMALL_LENGTHS];
+    private final int gcd;
+
+    private Utf8Mix(final double[] weights)
+    {
+        this.widths = new AliasTable(weights);
+        int divisor = 0;
+        for (int width = 1; width <= 4; width++)
+        {
+            hasWidth[width] = weights[width - 1] > 0.0;
+            divisor = hasWidth[width] ? gcd(divisor, width) : divisor;
+        }
+        this.gcd = divisor;
+        canFillSmall[0] = true;
+        for (int length = 1; length < SMALL_LENGTHS; length++)
+        {
+            for (int width = 1; width <= 4 && width <= length; width++)
+            {
+                canFillSmall[length] |= hasWidth[width] && canFillSmall[length - width];
+            }
+        }
+    }
+
+    /**
+     * @param oneByte    weight of ASCII code points
+     * @param twoBytes   weight of code points encoded in 2 bytes
+     * @param threeBytes weight of code points encoded in 3 bytes
+     * @param fourBytes  weight of code points encoded in 4 bytes
+     * @return the mix, weights need not add up to 1
+     */
+    public static Utf8Mix of(final double oneByte, final double twoBytes, final double threeBytes, final double fourBytes)
+    {
+        return new Utf8Mix(new double[]{oneByte, twoBytes, threeBytes, fourBytes});
+    }
+
+    /**
+     * @param length a byte count
+     * @return whether exactly length bytes can be made of code points of this mix
+     */
+    public boolean canFill(final int length)
+    {
+        return length < SMALL_LENGTHS ? canFillSmall[length] : length % gcd == 0;
+    }
+
+    void fill(final byte[] target, final int offset, final int length, final RandomSource random)
+    {
+        checkCanFill(length);
+        write(target, offset, length, length, random);
+    }
+
+    void fill(final ByteBuffer target, final int length, final RandomSource random)
+    {
+        checkCanFill(length);
+        if (target.remaining() < length)
+        {
+            throw new BufferOverflowException();
+        }
+        if (target.hasArray())
+        {
+            final int position = target.position();
+            write(target.array(), target.arrayOffset() + position, length, length, random);
+            target.position(position + length);
+            return;
+        }
+        //direct buffers are filled through a heap chunk and bulk puts
+        final byte[] chunk = CHUNKS.get();
+        int remaining = length;
+        while (remaining > 0)
+        {
+            final int written = write(chunk, 0, chunk.length, remaining, random);
+            target.put(chunk, 0, written);
+            remaining -= written;
+        }
+    }
+
+    private void checkCanFill(final int length)
+    {
+        if (length < 0)
+        {
+            throw new IllegalArgumentException("length cannot be negative, found " + length);
+        }
+        if (!canFill(length))
+        {
+            throw new IllegalArgumentException("code points of this mix cannot add up to exactly " + length + " bytes");
+        }
+    }
+
+    /**
+     * writes whole code points into target[offset, offset + capacity) until it is full or remaining reaches 0
+     *
+     * @return the number of bytes written
+     */
+    private int write(final byte[] target, final int offset, final int capacity, final int remaining,
+                      final RandomSource random)
+    {
+        int i = offset;
+        int left = remaining;
+        final int end = offset + Math.min(capacity, remaining);
+        while (left > 0 && end - i >= Math.min(4, left))
+        {
+            final int width = widthFor(left, widths.next(random) + 1);
+            switch (width)
+            {
+                case 1:
+                    target[i] = (byte) (random.nextByte() & 0x7F);
+                    break;
+                case 2:
+                {
+                    final int codePoint = 0x80 + random.nextInt(TWO_BYTE_COUNT);
+                    target[i] = (byte) (0xC0 | codePoint >>> 6);
+                    target[i + 1] = (byte) (0x80 | codePoint & 0x3F);
+                    break;
+                }
+                case 3:
+                {
+                    int codePoint = 0x800 + random.nextInt(THREE_BYTE_COUNT);
+                    if (codePoint >= Character.MIN_SURROGATE)
+                    {
+                        codePoint += Character.MAX_SURROGATE - Character.MIN_SURROGATE + 1;
+                    }
+                    target[i] = (byte) (0xE0 | codePoint >>> 12);
+                    target[i + 1] = (byte) (0x80 | codePoint >>> 6 & 0x3F);
+                    target[i + 2] = (byte) (0x80 | codePoint & 0x3F);
+                    break;
+                }
+                default:
+                {
+                    final int codePoint = Character.MIN_SUPPLEMENTARY_CODE_POINT + random.nextInt(FOUR_BYTE_COUNT);
+                    target[i] = (byte) (0xF0 | codePoint >>> 18);
+                    target[i + 1] = (byte) (0x80 | codePoint >>> 12 & 0x3F);
+                    target[i + 2] = (byte) (0x80 | codePoint >>> 6 & 0x3F);
+                    target[i + 3] = (byte) (0x80 | codePoint & 0x3F);
+                    break;
+                }
+            }
+            i += width;
+            left -= width;
+        }
+        return i - offset;
+    }
+
+    //the drawn width, unless the bytes left after it could not be filled, then the widest width that still fits
+    private int widthFor(final int left, final int drawn)
+    {
+        if (drawn <= left && canFill(left - drawn))
+        {
+            return drawn;
+        }
+        for (int width = Math.min(4, left); width >= 1; width--)
+        {
+            if (hasWidth[width] && canFill(left - width))
+            {
+                return width;
+            }
+        }
+        throw new IllegalStateException("no width fits the last " + left + " bytes");
+    }
+
+    private static int gcd(final int a, final int b)
+    {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+}
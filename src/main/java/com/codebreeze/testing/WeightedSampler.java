@@ -0,0 +1,76 @@
+package com.codebreeze.testing;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Picks items with probability proportional to their weights. The weights are compiled into an alias table once,
+ * after which every pick costs O(1) no matter how many items there are.
+ *
+ * @param <T> the item type
+ */
+public final class WeightedSampler<T> implements Supplier<T>
+{
+    private final Object[] items;
+    private final AliasTable table;
+
+    private WeightedSampler(final Object[] items, final double[] weights)
+    {
+        if (items.length != weights.length)
+        {
+            throw new IllegalArgumentException("there are " + items.length + " items but " + weights.length + " weights");
+        }
+        this.items = items;
+        this.table = new AliasTable(weights);
+    }
+
+    /**
+     * @param weights the items and their weights, which need not add up to 1
+     * @param <T>     the item type
+     * @return a sampler of the keys
+     */
+    public static <T> WeightedSampler<T> of(final Map<? extends T, Double> weights)
+    {
+        Objects.requireNonNull(weights, "weights cannot be null");
+        final Object[] items = new Object[weights.size()];
+        final double[] values = new double[weights.size()];
+        int i = 0;
+        for (final Map.Entry<? extends T, Double> entry : weights.entrySet())
+        {
+            items[i] = entry.getKey();
+            values[i++] = Objects.requireNonNull(entry.getValue(), "weight cannot be null");
+        }
+        return new WeightedSampler<>(items, values);
+    }
+
+    /**
+     * @param items   the items
+     * @param weights weights[i] is the weight of items[i]
+     * @param <T>     the item type
+     * @return a sampler of the items
+     */
+    public static <T> WeightedSampler<T> of(final T[] items, final double[] weights)
+    {
+        Objects.requireNonNull(items, "items cannot be null");
+        Objects.requireNonNull(weights, "weights cannot be null");
+        return new WeightedSampler<>(items.clone(), weights.clone());
+    }
+
+    public int size()
+    {
+        return items.length;
+    }
+
+    @Override
+    public T get()
+    {
+        return get(Randoms.source());
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(final RandomSource random)
+    {
+        return (T) items[table.next(random)];
+    }
+}
@@ -4,7 +4,22 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 
 public class AbstractTesterTest
 {
@@ -13,6 +28,10 @@ public class AbstractTesterTest
 
     private enum TestType {}
 
+    private enum Colour {RED, GREEN}
+
+    private static class Open {}
+
     @Test
     public void getFactoryForClass_should_throw_illegal_argument_exception_if_enum_has_no_members()
     throws Exception
@@ -26,4 +45,76 @@ public class AbstractTesterTest
     {
         assertThat(AbstractTester.ClassType.valueOf("NON_FINAL")).isNotNull();
     }
+
+    @Test
+    public void suppliers_are_resolved_once_and_shared_between_testers()
+    {
+        assertThat(new AbstractTester().getFactoryForClass(Colour.class))
+                .isSameAs(new AbstractTester().getFactoryForClass(Colour.class));
+        assertThat(new AbstractTester().getFactoryForClass(Open.class))
+                .isSameAs(new AbstractTester().getFactoryForClass(Open.class));
+        assertThat(new AbstractTester().getFactoryForClass(int.class))
+                .isSameAs(new AbstractTester().getFactoryForClass(Integer.class));
+    }
+
+    @Test
+    public void enum_suppliers_keep_cycling_across_lookups()
+    {
+        final Object first = new AbstractTester().getFactoryForClass(Colour.class).get();
+        final Object second = new AbstractTester().getFactoryForClass(Colour.class).get();
+        assertThat(second).isNotEqualTo(first);
+    }
+
+    @Test
+    public void seeded_runs_start_enum_cycles_over()
+    {
+        final Supplier<?> supplier = new AbstractTester().getFactoryForClass(Colour.class);
+        final Object first = RandomSession.seeded(42L).call(supplier::get);
+        supplier.get();
+        final Object second = RandomSession.seeded(42L).call(supplier::get);
+        final Object third = RandomSession.seeded(42L).call(supplier::get);
+        assertThat(second).isEqualTo(first);
+        assertThat(third).isEqualTo(first);
+    }
+
+    @Test
+    public void enum_cycles_start_at_a_random_constant_in_each_session()
+    {
+        final Supplier<?> supplier = new AbstractTester().getFactoryForClass(Colour.class);
+        final Set<Object> firsts = new HashSet<>();
+        for (int i = 0; i < 100; i++)
+        {
+            firsts.add(RandomSession.random().call(supplier::get));
+        }
+        assertThat(firsts).containsOnly(Colour.RED, Colour.GREEN);
+    }
+
+    @Test
+    public void consecutive_standard_values_differ()
+    {
+        for (final Class<?> type : Arrays.asList(ZoneOffset.class, LocalDate.class, LocalTime.class, Duration.class,
+                                                 Instant.class, Date.class, UUID.class, BigDecimal.class))
+        {
+            final Supplier<?> supplier = new AbstractTester().getFactoryForClass(type);
+            Object previous = supplier.get();
+            for (int i = 0; i < 10_000; i++)
+            {
+                final Object value = supplier.get();
+                assertThat(value).isNotEqualTo(previous);
+                previous = value;
+            }
+        }
+    }
+
+    @Test
+    public void other_types_still_come_from_the_tester()
+    {
+        final AbstractTester tester = new AbstractTester();
+        tester.addSuppliers(Collections.singletonMap(Final.class, Final::new));
+        assertThat(tester.getFactoryForClass(Final.class).get()).isInstanceOf(Final.class);
+        assertThat(catchThrowable(() -> new AbstractTester().getFactoryForClass(Final.class)))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    private static final class Final {}
 }
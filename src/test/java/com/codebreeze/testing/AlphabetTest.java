@@ -0,0 +1,96 @@
+package com.codebreeze.testing;
+
+import org.junit.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class AlphabetTest
+{
+    @Test
+    public void standard_alphabets_hold_the_expected_chars()
+    {
+        assertThat(Alphabet.NUMERIC.size()).isEqualTo(10);
+        assertThat(Alphabet.ALPHABETIC.size()).isEqualTo(52);
+        assertThat(Alphabet.ALPHANUMERIC.size()).isEqualTo(62);
+        assertThat(Alphabet.ASCII.size()).isEqualTo(95);
+        assertThat(Alphabet.NUMERIC.charAt(0)).isEqualTo('0');
+    }
+
+    @Test
+    public void random_strings_only_use_the_alphabet()
+    {
+        assertThat(Alphabet.NUMERIC.randomString(200)).hasSize(200).matches("[0-9]{200}");
+        assertThat(Alphabet.ALPHABETIC.randomString(200)).matches("[a-zA-Z]{200}");
+        assertThat(Alphabet.ALPHANUMERIC.randomString(200)).matches("[a-zA-Z0-9]{200}");
+        assertThat(Alphabet.of("xy").randomString(200)).matches("[xy]{200}");
+        assertThat(Alphabet.of('p', 'q').randomString(0)).isEmpty();
+    }
+
+    @Test
+    public void custom_alphabets_are_cached()
+    {
+        assertThat(Alphabet.of("abcdef")).isSameAs(Alphabet.of("abcdef"));
+        assertThat(Alphabet.of('a', 'b')).isSameAs(Alphabet.of("ab"));
+        assertThat(Alphabet.ofRange('a', 'f', true, false)).isSameAs(Alphabet.ofRange('a', 'f', true, false));
+    }
+
+    @Test
+    public void filtered_alphabets_keep_only_letters_or_digits()
+    {
+        final char[] chars = {'a', '1', '-', 'b', '2'};
+        assertThat(Alphabet.ofChars(chars, 0, chars.length, true, false).randomString(100)).matches("[ab]{100}");
+        assertThat(Alphabet.ofChars(chars, 0, 3, false, true).randomString(100)).matches("1{100}");
+        assertThat(Alphabet.ofChars(chars, 0, chars.length, false, false).size()).isEqualTo(5);
+    }
+
+    @Test
+    public void alphabets_without_chars_are_rejected()
+    {
+        assertThat(catchThrowable(() -> Alphabet.of(""))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> Alphabet.ofRange('-', '.', true, true))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> Alphabet.NUMERIC.randomString(-1))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void surrogates_in_an_alphabet_become_whole_code_points()
+    {
+        final Alphabet alphabet = Alphabet.of("a\uD83D");
+        IntStream.range(0, 100).forEach(i ->
+        {
+            final String s = alphabet.randomString(9);
+            assertThat(s).hasSize(9);
+            for (int c = 0; c < s.length(); c++)
+            {
+                if (Character.isHighSurrogate(s.charAt(c)))
+                {
+                    assertThat(Character.isLowSurrogate(s.charAt(++c))).isTrue();
+                }
+                else
+                {
+                    assertThat(s.charAt(c)).isEqualTo('a');
+                }
+            }
+        });
+        assertThat(catchThrowable(() -> Alphabet.of("\uDC00").randomString(3))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void surrogate_pairs_only_use_surrogates_of_the_alphabet()
+    {
+        final String chars = "ab\uD800\uDC01";
+        final Alphabet alphabet = Alphabet.of(chars);
+        IntStream.range(0, 100).forEach(i ->
+        {
+            final String s = alphabet.randomString(9);
+            assertThat(s).hasSize(9);
+            s.chars().forEach(c -> assertThat(chars.indexOf(c)).isNotNegative());
+            assertThat(s.codePoints().allMatch(c -> c == 'a' || c == 'b' || c == 0x10001)).isTrue();
+        });
+        assertThat(Alphabet.of("\uD800\uDC01").randomString(4)).isEqualTo("\uD800\uDC01\uD800\uDC01");
+        assertThat(catchThrowable(() -> Alphabet.of("\uD800\uD801").randomString(2)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,134 @@
+package com.codebreeze.testing;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class CodePointTableTest
+{
+    @Test
+    public void of_ranges_draws_only_from_the_ranges()
+    {
+        final CodePointTable table = CodePointTable.ofRanges('a', 'c', 'x', 'z');
+        assertThat(table.size()).isEqualTo(6);
+        final Set<Integer> drawn = new HashSet<>();
+        IntStream.range(0, 500).forEach(i -> drawn.add(table.next()));
+        assertThat(drawn).containsOnly((int) 'a', (int) 'b', (int) 'c', (int) 'x', (int) 'y', (int) 'z');
+    }
+
+    @Test
+    public void code_points_are_ranked_in_ascending_order()
+    {
+        final CodePointTable table = CodePointTable.ofRanges(10, 11, 20, 20, 30, 32);
+        assertThat(IntStream.range(0, table.size()).map(table::codePointAt).toArray())
+                .containsExactly(10, 11, 20, 30, 31, 32);
+    }
+
+    @Test
+    public void contains_checks_the_ranges()
+    {
+        final CodePointTable table = CodePointTable.ofRanges(10, 11, 20, 20);
+        assertThat(table.contains(10)).isTrue();
+        assertThat(table.contains(11)).isTrue();
+        assertThat(table.contains(20)).isTrue();
+        assertThat(table.contains(9)).isFalse();
+        assertThat(table.contains(12)).isFalse();
+        assertThat(table.contains(21)).isFalse();
+    }
+
+    @Test
+    public void count_below_ranks_code_points()
+    {
+        final CodePointTable table = CodePointTable.ofRanges(10, 11, 20, 20, 30, 32);
+        assertThat(table.countBelow(0)).isEqualTo(0);
+        assertThat(table.countBelow(10)).isEqualTo(0);
+        assertThat(table.countBelow(11)).isEqualTo(1);
+        assertThat(table.countBelow(15)).isEqualTo(2);
+        assertThat(table.countBelow(31)).isEqualTo(4);
+        assertThat(table.countBelow(100)).isEqualTo(6);
+    }
+
+    @Test
+    public void fill_writes_whole_code_points_into_every_slot()
+    {
+        final char[] buffer = new char[7];
+        CodePointTable.ofRanges('a', 'a', 0x1F600, 0x1F600).fill(buffer, RandomSource.seeded(3L));
+        assertThat(new String(buffer)).matches("(a|\\x{1F600})*a");
+        assertThat(catchThrowable(() -> CodePointTable.ofRanges(0x1F600, 0x1F64F).fill(new char[3], RandomSource.seeded(3L))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void xml_tables_hold_the_char_productions()
+    {
+        assertThat(CodePointTable.XML_1_0.contains(0x9)).isTrue();
+        assertThat(CodePointTable.XML_1_0.contains(0x1)).isFalse();
+        assertThat(CodePointTable.XML_1_0.contains(0xFFFE)).isFalse();
+        assertThat(CodePointTable.XML_1_1.contains(0x1)).isTrue();
+        assertThat(CodePointTable.XML_1_1.contains(0x0)).isFalse();
+        assertThat(CodePointTable.XML_1_1.contains(Character.MAX_CODE_POINT)).isTrue();
+    }
+
+    @Test
+    public void of_ranges_rejects_invalid_ranges()
+    {
+        assertThat(catchThrowable(() -> CodePointTable.ofRanges())).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> CodePointTable.ofRanges(1))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> CodePointTable.ofRanges(5, 4))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> CodePointTable.ofRanges(1, 5, 5, 6))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> CodePointTable.ofRanges(0, Character.MAX_CODE_POINT + 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void all_and_bmp_exclude_surrogates()
+    {
+        assertThat(CodePointTable.ALL.size()).isEqualTo(Character.MAX_CODE_POINT + 1 - 2048);
+        assertThat(CodePointTable.BMP.size()).isEqualTo(0x10000 - 2048);
+        assertThat(CodePointTable.ALL.contains(Character.MIN_SURROGATE)).isFalse();
+        assertThat(CodePointTable.BMP.contains(Character.MAX_SURROGATE)).isFalse();
+    }
+
+    @Test
+    public void type_tables_only_contain_their_category()
+    {
+        final CodePointTable uppercase = CodePointTable.forType(Character.UPPERCASE_LETTER);
+        IntStream.range(0, 500).forEach(i -> assertThat(Character.isUpperCase(uppercase.next())).isTrue());
+    }
+
+    @Test
+    public void script_and_block_tables_only_contain_their_script_or_block()
+    {
+        final CodePointTable greek = CodePointTable.forScript(Character.UnicodeScript.GREEK);
+        final CodePointTable cyrillicLetters = CodePointTable.lettersOf(Character.UnicodeScript.CYRILLIC);
+        final CodePointTable arrows = CodePointTable.forBlock(Character.UnicodeBlock.ARROWS);
+        IntStream.range(0, 500).forEach(i ->
+        {
+            assertThat(Character.UnicodeScript.of(greek.next())).isEqualTo(Character.UnicodeScript.GREEK);
+            final int letter = cyrillicLetters.next();
+            assertThat(Character.isLetter(letter)).isTrue();
+            assertThat(Character.UnicodeScript.of(letter)).isEqualTo(Character.UnicodeScript.CYRILLIC);
+            assertThat(Character.UnicodeBlock.of(arrows.next())).isEqualTo(Character.UnicodeBlock.ARROWS);
+        });
+    }
+
+    @Test
+    public void tables_are_cached()
+    {
+        assertThat(CodePointTable.forType(Character.DECIMAL_DIGIT_NUMBER))
+                .isSameAs(CodePointTable.forType(Character.DECIMAL_DIGIT_NUMBER));
+        assertThat(CodePointTable.lettersOf(Character.UnicodeScript.GREEK))
+                .isSameAs(CodePointTable.lettersOf(Character.UnicodeScript.GREEK));
+    }
+
+    @Test
+    public void empty_categories_are_rejected()
+    {
+        assertThat(catchThrowable(() -> CodePointTable.forType(17))).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,120 @@
+package com.codebreeze.testing;
+
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class DistinctSequenceTest
+{
+    @Test
+    public void int_range_is_covered_exactly_once()
+    {
+        final DistinctSequence sequence = DistinctSequence.ofInts(-500, 99500);
+        final BitSet seen = new BitSet();
+        for (int i = 0; i < 100000; i++)
+        {
+            final int value = sequence.nextInt();
+            assertThat(value).isBetween(-500, 99499);
+            assertThat(seen.get(value + 500)).isFalse();
+            seen.set(value + 500);
+        }
+        assertThat(seen.cardinality()).isEqualTo(100000);
+    }
+
+    @Test
+    public void exhausted_sequences_fail()
+    {
+        final DistinctSequence sequence = DistinctSequence.ofInts(0, 3);
+        final Set<Integer> values = new HashSet<>();
+        IntStream.range(0, 3).forEach(i -> values.add(sequence.nextInt()));
+        assertThat(values).containsOnly(0, 1, 2);
+        assertThat(catchThrowable(sequence::nextInt)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void values_do_not_come_out_in_counter_order()
+    {
+        final DistinctSequence sequence = DistinctSequence.ofLongs(0L, 1000000L);
+        final List<Long> values = IntStream.range(0, 1000).mapToObj(i -> sequence.getAsLong()).collect(toList());
+        final long ascendingSteps = IntStream.range(1, values.size()).filter(i -> values.get(i) > values.get(i - 1)).count();
+        assertThat(ascendingSteps).isBetween(400L, 600L);
+        assertThat(values.stream().mapToLong(Long::longValue).max().getAsLong()).isGreaterThan(900000L);
+    }
+
+    @Test
+    public void full_domains_need_no_cycle_walking()
+    {
+        final DistinctSequence ints = DistinctSequence.ofInts();
+        final DistinctSequence longs = DistinctSequence.ofLongs();
+        assertThat(ints.size()).isEqualTo(1L << 32);
+        assertThat(longs.size()).isZero();
+        final Set<Long> values = new HashSet<>();
+        IntStream.range(0, 100000).forEach(i -> values.add(longs.getAsLong()));
+        assertThat(values).hasSize(100000);
+        final Set<Boolean> signs = new HashSet<>();
+        IntStream.range(0, 100).forEach(i -> signs.add(ints.nextInt() < 0));
+        assertThat(signs).containsOnly(true, false);
+    }
+
+    @Test
+    public void huge_long_ranges_stay_within_bounds()
+    {
+        final DistinctSequence sequence = DistinctSequence.ofLongs(Long.MIN_VALUE + 5, Long.MAX_VALUE - 5);
+        IntStream.range(0, 10000).forEach(i -> assertThat(sequence.getAsLong()).isBetween(Long.MIN_VALUE + 5,
+                                                                                          Long.MAX_VALUE - 6));
+    }
+
+    @Test
+    public void alphanumeric_strings_are_distinct()
+    {
+        for (final int length : new int[]{1, 3, 10, 16})
+        {
+            final Supplier<String> strings = DistinctSequence.ofAlphanumeric(length);
+            final int count = length == 1 ? 62 : 100000;
+            final Set<String> values = new HashSet<>();
+            IntStream.range(0, count).forEach(i -> values.add(strings.get()));
+            assertThat(values).hasSize(count).allMatch(s -> s.matches("[0-9A-Za-z]{" + length + "}"));
+        }
+    }
+
+    @Test
+    public void sequences_can_be_shared_between_threads()
+    {
+        final DistinctSequence sequence = DistinctSequence.ofInts(0, 200000);
+        final long distinct = IntStream.range(0, 200000).parallel().map(i -> sequence.nextInt()).distinct().count();
+        assertThat(distinct).isEqualTo(200000L);
+    }
+
+    @Test
+    public void sequences_are_reproducible_in_a_session()
+    {
+        final List<Long> first = RandomSession.seeded(3L).call(() ->
+        {
+            final DistinctSequence sequence = DistinctSequence.ofLongs(0L, 1000L);
+            return IntStream.range(0, 10).mapToObj(i -> sequence.getAsLong()).collect(toList());
+        });
+        final List<Long> second = RandomSession.seeded(3L).call(() ->
+        {
+            final DistinctSequence sequence = DistinctSequence.ofLongs(0L, 1000L);
+            return IntStream.range(0, 10).mapToObj(i -> sequence.getAsLong()).collect(toList());
+        });
+        assertThat(first).isEqualTo(second);
+    }
+
+    @Test
+    public void bad_arguments_are_rejected()
+    {
+        assertThat(catchThrowable(() -> DistinctSequence.ofInts(3, 3))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> DistinctSequence.ofLongs(3L, 2L))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> DistinctSequence.ofAlphanumeric(0))).isInstanceOf(IllegalArgumentException.class);
+    }
+}
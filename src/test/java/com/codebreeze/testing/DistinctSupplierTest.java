@@ -0,0 +1,110 @@
+package com.codebreeze.testing;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class DistinctSupplierTest
+{
+    @Test
+    public void consecutive_values_differ_even_from_a_tiny_domain()
+    {
+        final Supplier<Integer> supplier = DistinctSupplier.of(() -> Randoms.nextInt(0, 2));
+        Integer previous = supplier.get();
+        for (int i = 0; i < 1000; i++)
+        {
+            final Integer value = supplier.get();
+            assertThat(value).isNotEqualTo(previous);
+            previous = value;
+        }
+    }
+
+    @Test
+    public void consecutive_values_differ_on_every_thread_when_shared()
+    {
+        final Supplier<Boolean> supplier = DistinctSupplier.of(Randoms::randomBoolean);
+        final long threadsWithRepeats = IntStream.range(0, 64)
+                                                 .parallel()
+                                                 .filter(task ->
+                                                         {
+                                                             boolean previous = supplier.get();
+                                                             for (int i = 0; i < 10_000; i++)
+                                                             {
+                                                                 final boolean value = supplier.get();
+                                                                 if (value == previous)
+                                                                 {
+                                                                     return true;
+                                                                 }
+                                                                 previous = value;
+                                                             }
+                                                             return false;
+                                                         })
+                                                 .count();
+        assertThat(threadsWithRepeats).isZero();
+    }
+
+    @Test
+    public void seeded_runs_do_not_depend_on_earlier_values()
+    {
+        final Supplier<Integer> supplier = DistinctSupplier.of(() -> Randoms.nextInt(0, 3));
+        final List<Integer> first = RandomSession.seeded(5L).call(() -> draw(supplier));
+        supplier.get();
+        final List<Integer> second = RandomSession.seeded(5L).call(() -> draw(supplier));
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    public void bounded_suppliers_fall_back_when_draws_keep_repeating()
+    {
+        final AtomicInteger fallbacks = new AtomicInteger();
+        final Supplier<Integer> supplier = DistinctSupplier.bounded(() -> 7, 5, () -> -fallbacks.incrementAndGet());
+        assertThat(supplier.get()).isEqualTo(7);
+        assertThat(supplier.get()).isEqualTo(-1);
+        assertThat(supplier.get()).isEqualTo(-2);
+        assertThat(fallbacks.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void bounded_suppliers_redraw_before_falling_back()
+    {
+        final Supplier<Integer> supplier = DistinctSupplier.bounded(() -> Randoms.nextInt(0, 2), 64, () -> -1);
+        for (int i = 0; i < 1000; i++)
+        {
+            assertThat(supplier.get()).isBetween(0, 1);
+        }
+        assertThat(catchThrowable(() -> DistinctSupplier.bounded(() -> 1, 0, () -> 2)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void first_values_on_new_sources_are_not_constrained()
+    {
+        final Supplier<Boolean> supplier = DistinctSupplier.of(Randoms::randomBoolean);
+        final Set<Boolean> firsts = new HashSet<>();
+        for (int i = 0; i < 100; i++)
+        {
+            firsts.add(RandomSession.random().call(supplier::get));
+        }
+        assertThat(firsts).containsOnly(true, false);
+    }
+
+    @Test
+    public void draw_cannot_be_null()
+    {
+        assertThat(catchThrowable(() -> DistinctSupplier.of(null))).isInstanceOf(NullPointerException.class);
+    }
+
+    private static List<Integer> draw(final Supplier<Integer> supplier)
+    {
+        return IntStream.range(0, 100).mapToObj(i -> supplier.get()).collect(toList());
+    }
+}
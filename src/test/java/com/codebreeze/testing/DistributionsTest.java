@@ -0,0 +1,170 @@
+package com.codebreeze.testing;
+
+import org.junit.Test;
+
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.within;
+
+public class DistributionsTest
+{
+    private static final int SAMPLES = 200000;
+
+    @Test
+    public void gaussian_has_the_requested_mean_and_deviation()
+    {
+        final double[] values = draw(Distributions.gaussian(10.0, 2.0));
+        assertThat(mean(values)).isCloseTo(10.0, within(0.05));
+        assertThat(Math.sqrt(variance(values))).isCloseTo(2.0, within(0.05));
+        final long withinOneDeviation = IntStream.range(0, SAMPLES).filter(i -> Math.abs(values[i] - 10.0) < 2.0).count();
+        assertThat(withinOneDeviation / (double) SAMPLES).isCloseTo(0.6827, within(0.01));
+    }
+
+    @Test
+    public void gaussian_reaches_into_the_tails()
+    {
+        final double[] values = draw(() -> Randoms.randomGaussian());
+        final long beyondTail = IntStream.range(0, SAMPLES).filter(i -> Math.abs(values[i]) > 3.442619855899).count();
+        //P(|z| > r) is about 5.8e-4
+        assertThat(beyondTail).isBetween(60L, 180L);
+    }
+
+    @Test
+    public void exponential_has_the_requested_mean()
+    {
+        final double[] values = draw(Distributions.exponential(3.0));
+        assertThat(mean(values)).isCloseTo(3.0, within(0.05));
+        assertThat(Math.sqrt(variance(values))).isCloseTo(3.0, within(0.08));
+        for (final double value : values)
+        {
+            assertThat(value).isGreaterThanOrEqualTo(0.0);
+        }
+    }
+
+    @Test
+    public void log_normal_has_the_expected_median()
+    {
+        final double[] values = draw(Distributions.logNormal(1.0, 0.5));
+        final long belowMedian = IntStream.range(0, SAMPLES).filter(i -> values[i] < Math.E).count();
+        assertThat(belowMedian / (double) SAMPLES).isCloseTo(0.5, within(0.01));
+    }
+
+    @Test
+    public void pareto_starts_at_its_scale()
+    {
+        final double[] values = draw(Distributions.pareto(2.0, 3.0));
+        for (final double value : values)
+        {
+            assertThat(value).isGreaterThanOrEqualTo(2.0);
+        }
+        //mean is scale * shape / (shape - 1)
+        assertThat(mean(values)).isCloseTo(3.0, within(0.05));
+    }
+
+    @Test
+    public void poisson_has_the_requested_mean_for_small_and_large_means()
+    {
+        for (final double expected : new double[]{0.5, 4.0, 10.0, 250.0, 100000.0})
+        {
+            final IntSupplier poisson = Distributions.poisson(expected);
+            final double[] values = new double[SAMPLES];
+            IntStream.range(0, SAMPLES).forEach(i -> values[i] = poisson.getAsInt());
+            assertThat(mean(values)).isCloseTo(expected, within(0.01 * expected + 0.01));
+            assertThat(variance(values)).isCloseTo(expected, within(0.05 * expected));
+        }
+    }
+
+    @Test
+    public void zipf_ranks_follow_a_power_law()
+    {
+        final IntSupplier zipf = Distributions.zipf(1000, 1.0);
+        final int[] counts = new int[1001];
+        IntStream.range(0, SAMPLES).forEach(i -> counts[zipf.getAsInt()]++);
+        assertThat(counts[0]).isZero();
+        double harmonic = 0.0;
+        for (int k = 1; k <= 1000; k++)
+        {
+            harmonic += 1.0 / k;
+        }
+        assertThat(counts[1] / (double) SAMPLES).isCloseTo(1.0 / harmonic, within(0.005));
+        assertThat(counts[1] / (double) counts[2]).isCloseTo(2.0, within(0.1));
+    }
+
+    @Test
+    public void zipf_covers_huge_rank_counts()
+    {
+        final LongSupplier zipf = Distributions.zipf(Long.MAX_VALUE / 2, 1.2);
+        IntStream.range(0, 10000).forEach(i -> assertThat(zipf.getAsLong()).isBetween(1L, Long.MAX_VALUE / 2));
+        final IntSupplier single = Distributions.zipf(1, 2.0);
+        assertThat(single.getAsInt()).isEqualTo(1);
+    }
+
+    @Test
+    public void factories_plug_in_as_suppliers()
+    {
+        final Supplier<Integer> hotKeys = Randoms.zipfFactory(100, 1.1);
+        final Supplier<Double> latencies = Randoms.logNormalFactory(3.0, 1.0);
+        assertThat(hotKeys.get()).isBetween(1, 100);
+        assertThat(latencies.get()).isPositive();
+        assertThat(Randoms.poissonFactory(3.0).get()).isGreaterThanOrEqualTo(0);
+        assertThat(Randoms.RANDOM_GAUSSIAN_FACTORY.get()).isNotNull();
+        assertThat(Randoms.randomExponential()).isGreaterThanOrEqualTo(0.0);
+    }
+
+    @Test
+    public void bad_parameters_are_rejected()
+    {
+        assertThat(catchThrowable(() -> Distributions.gaussian(0.0, -1.0))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> Distributions.exponential(0.0))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> Distributions.pareto(1.0, Double.NaN))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> Distributions.poisson(-2.0))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> Distributions.poisson(1e10))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> Distributions.zipf(0, 1.0))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> Distributions.zipf(10, 0.0))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void log_factorial_matches_the_exact_sum()
+    {
+        double exact = 0.0;
+        for (int k = 2; k <= 1000; k++)
+        {
+            exact += Math.log(k);
+            assertThat(Distributions.logFactorial(k)).isCloseTo(exact, within(1e-9 * exact));
+        }
+    }
+
+    private static double[] draw(final DoubleSupplier distribution)
+    {
+        final double[] values = new double[SAMPLES];
+        IntStream.range(0, SAMPLES).forEach(i -> values[i] = distribution.getAsDouble());
+        return values;
+    }
+
+    private static double mean(final double[] values)
+    {
+        double sum = 0.0;
+        for (final double value : values)
+        {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    private static double variance(final double[] values)
+    {
+        final double mean = mean(values);
+        double sum = 0.0;
+        for (final double value : values)
+        {
+            sum += (value - mean) * (value - mean);
+        }
+        return sum / values.length;
+    }
+}
@@ -3,8 +3,12 @@ package com.codebreeze.testing;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Supplier;
 
 import static com.codebreeze.testing.Randoms.randomInt;
@@ -291,6 +295,54 @@ public class EqualAndHashcodeTestTest
         assertThat(thrown).isInstanceOf(IllegalStateException.class);
     }
 
+    @Test
+    public void collections_of_small_domains_still_tell_instances_apart()
+    {
+        for (int i = 0; i < 300; i++)
+        {
+            EqualAndHashcodeTest.forClass(ClassWithSmallDomains.class).verify();
+            EqualAndHashcodeTest.forClass(ClassWithSmallDomains.class).withCollectionSize(2).verify();
+        }
+    }
+
+    @Test
+    public void arrays_of_small_domains_still_tell_instances_apart()
+    {
+        for (int i = 0; i < 200; i++)
+        {
+            EqualAndHashcodeTest.forClass(ClassWithFlags.class).withArrayLength(1).verify();
+        }
+    }
+
+    @Test
+    public void empty_arrays_are_rejected()
+    {
+        assertThat(catchThrowable(() -> EqualAndHashcodeTest.forClass(ClassWithArray.class).withArrayLength(0)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> EqualAndHashcodeTest.forClass(ClassWithArray.class).withArrayLength(0, 3)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> EqualAndHashcodeTest.forClass(ClassWithArray.class)
+                                                            .withArrayLength(() -> 0)
+                                                            .verify()))
+                .isInstanceOf(IllegalStateException.class);
+        EqualAndHashcodeTest.forClass(ClassWithArray.class).withArrayLength(1, 3).verify();
+    }
+
+    @Test
+    public void empty_collections_are_rejected()
+    {
+        assertThat(catchThrowable(() -> EqualAndHashcodeTest.forClass(ClassWithArray.class).withCollectionSize(0)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> EqualAndHashcodeTest.forClass(ClassWithArray.class).withCollectionSize(0, 3)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> EqualAndHashcodeTest.forClass(ClassWithList.class)
+                                                            .withCollectionSize(() -> 0)
+                                                            .verify()))
+                .isInstanceOf(IllegalStateException.class);
+        EqualAndHashcodeTest.forClass(ClassWithList.class).withCollectionSize(1, 3).verify();
+    }
+
+
 
     //utils
 
@@ -406,6 +458,74 @@ public class EqualAndHashcodeTestTest
         }
     }
 
+    private static class ClassWithArray{
+        private int[] values;
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj != null && obj.getClass() == getClass() && Arrays.equals(this.values, ((ClassWithArray) obj).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(values);
+        }
+    }
+
+    private static class ClassWithFlags{
+        private boolean[] flags;
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj != null && obj.getClass() == getClass() && Arrays.equals(this.flags, ((ClassWithFlags) obj).flags);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(flags);
+        }
+    }
+
+    private static class ClassWithList{
+        private List<String> names;
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj != null && obj.getClass() == getClass() && Objects.equals(this.names, ((ClassWithList) obj).names);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(names);
+        }
+    }
+
+    private enum TwoValues { ONE, TWO }
+
+    private static class ClassWithSmallDomains{
+        private Set<Boolean> flags;
+        private Set<TwoValues> values;
+        private List<Boolean> switches;
+        private Map<Boolean, TwoValues> choices;
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == null || obj.getClass() != getClass()) {
+                return false;
+            }
+            final ClassWithSmallDomains other = (ClassWithSmallDomains) obj;
+            return Objects.equals(this.flags, other.flags)
+                    && Objects.equals(this.values, other.values)
+                    && Objects.equals(this.switches, other.switches)
+                    && Objects.equals(this.choices, other.choices);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(flags, values, switches, choices);
+        }
+    }
+
     private static final class FinalClass{
 
     }
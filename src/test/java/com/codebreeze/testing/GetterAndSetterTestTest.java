@@ -204,6 +204,33 @@ public class GetterAndSetterTestTest {
                 .verify();
     }
 
+    @Test
+    public void array_lengths_below_one_are_rejected() {
+        assertThat(catchThrowable(() -> GetterAndSetterTest.forClass(GoodBean.class).withArrayLength(0)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> GetterAndSetterTest.forClass(GoodBean.class).withArrayLength(0, 3)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> GetterAndSetterTest.forClass(GoodBean.class)
+                                                           .withSupplier(GoodBean::new)
+                                                           .withArrayLength(() -> 0)
+                                                           .verify()))
+                .isInstanceOf(IllegalStateException.class);
+        GetterAndSetterTest.forClass(GoodBean.class).withSupplier(GoodBean::new).withArrayLength(1, 3).verify();
+    }
+
+    @Test
+    public void collection_sizes_below_one_are_rejected() {
+        assertThat(catchThrowable(() -> GetterAndSetterTest.forClass(GoodBean.class).withCollectionSize(0)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> GetterAndSetterTest.forClass(GoodBean.class).withCollectionSize(0, 3)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> GetterAndSetterTest.forClass(ComplexObjectsBean.class)
+                                                           .withSupplier(ComplexObjectsBean::new)
+                                                           .withCollectionSize(() -> 0)
+                                                           .verify()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
     @Test
     public void testRunWithComplexObjectsBean() throws Exception {
         final Supplier<int[]> intArrayFactory = () -> new int[]{randomInt()};
@@ -0,0 +1,239 @@
+package com.codebreeze.testing;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.Socket;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.Timer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mockingDetails;
+
+public class InstanceSupplierTest
+{
+    @Test
+    public void concrete_classes_are_built_and_filled_with_random_values()
+    {
+        final Parent parent = (Parent) supplierFor(Parent.class).get();
+
+        assertThat(parent.getClass()).isEqualTo(Parent.class);
+        assertThat(parent.name).isNotNull();
+        assertThat(parent.level).isNotNull();
+        assertThat(parent.child.getClass()).isEqualTo(Child.class);
+        assertThat(parent.child.id).isNotZero();
+        assertThat(parent.constant).isEqualTo("fixed");
+    }
+
+    @Test
+    public void classes_without_a_no_args_constructor_are_built_through_the_shortest_one()
+    {
+        final Point point = (Point) supplierFor(Point.class).get();
+
+        assertThat(point.getClass()).isEqualTo(Point.class);
+        assertThat(point.x).isNotNull();
+    }
+
+    @Test
+    public void self_referencing_classes_stop_at_a_fixed_depth()
+    {
+        Node node = (Node) supplierFor(Node.class).get();
+        int depth = 0;
+        while (node != null)
+        {
+            depth++;
+            node = node.next;
+        }
+        assertThat(depth).isBetween(1, 3);
+    }
+
+    @Test
+    public void classes_whose_instances_are_all_equal_fall_back_to_pooled_mocks()
+    {
+        final Supplier<?> supplier = supplierFor(AlwaysEqual.class);
+        final Set<Object> seen = new HashSet<>();
+        Object previous = null;
+        for (int i = 0; i < 20; i++)
+        {
+            final Object mock = supplier.get();
+            assertThat(mock).isInstanceOf(AlwaysEqual.class).isNotSameAs(previous);
+            assertThat(mock.getClass()).isNotEqualTo(AlwaysEqual.class);
+            seen.add(System.identityHashCode(mock));
+            previous = mock;
+        }
+        assertThat(seen).hasSize(4);
+    }
+
+    @Test
+    public void abstract_types_are_mocked_unless_a_concrete_subtype_is_known()
+    {
+        assertThat(supplierFor(Shape.class).get()).isInstanceOf(Shape.class);
+        assertThat(supplierFor(CharSequence.class).get()).isInstanceOf(String.class);
+        assertThat(supplierFor(Number.class).get()).isInstanceOf(BigDecimal.class);
+    }
+
+    @Test
+    public void jdk_resources_are_mocked_instead_of_opened()
+    {
+        final String[] filesBefore = new File(".").list();
+
+        final Resources resources = (Resources) supplierFor(Resources.class).get();
+
+        assertThat(resources.getClass()).isEqualTo(Resources.class);
+        Stream.of(resources.writer, resources.printer, resources.socket, resources.timer, resources.thread,
+                  resources.output.stream)
+              .forEach(resource -> assertThat(isMockOrNull(resource)).isTrue());
+        assertThat(new File(".").list()).containsOnly(filesBefore);
+    }
+
+    @Test
+    public void seeded_runs_build_the_same_instances()
+    {
+        final Supplier<?> supplier = supplierFor(Child.class);
+        final int first = RandomSession.seeded(11L).call(() -> ((Child) supplier.get()).id);
+        final int second = RandomSession.seeded(11L).call(() -> ((Child) supplier.get()).id);
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    public void seeded_runs_replay_across_the_first_use_of_a_type()
+    {
+        final Supplier<Holder> holders = () -> RandomizedInstance.forClass(Holder.class).withSeed(3L).get();
+        final Holder first = holders.get();
+        final Holder second = holders.get();
+
+        assertThat(second.first).isEqualTo(first.first);
+        assertThat(second.flag.value).isEqualTo(first.flag.value);
+        assertThat(second.second).isEqualTo(first.second);
+        assertThat(second.x).isEqualTo(first.x);
+    }
+
+    @Test
+    public void consecutive_instances_differ()
+    {
+        final Supplier<?> supplier = supplierFor(Parent.class);
+        IntStream.range(0, 100).forEach(i -> assertThat(supplier.get()).isNotEqualTo(supplier.get()));
+    }
+
+    private static Supplier<?> supplierFor(final Class<?> type)
+    {
+        return new AbstractTester().getFactoryForClass(type);
+    }
+
+    //newer runtimes do not let mocks of JDK classes be made, those resources are left null
+    private static boolean isMockOrNull(final Object value)
+    {
+        return value == null || mockingDetails(value).isMock();
+    }
+
+    private enum Level {LOW, HIGH}
+
+    private static class Child
+    {
+        private int id;
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            return o instanceof Child && ((Child) o).id == id;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return id;
+        }
+    }
+
+    private static class Parent
+    {
+        private final String constant = "fixed";
+        private String name;
+        private Level level;
+        private Child child;
+    }
+
+    private static class Point
+    {
+        private final Integer x;
+
+        Point(final Integer x)
+        {
+            this.x = x;
+        }
+
+        Point(final Integer x, final Integer y)
+        {
+            this(x + y);
+        }
+    }
+
+    private static class Node
+    {
+        private String value;
+        private Node next;
+    }
+
+    private static class AlwaysEqual
+    {
+        private String ignored;
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            return o instanceof AlwaysEqual;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 1;
+        }
+    }
+
+    //only used by one test, so that its first use happens inside a seeded run
+    private static class Flag
+    {
+        private boolean value;
+    }
+
+    private static class Holder
+    {
+        private boolean first;
+        private Flag flag;
+        private boolean second;
+        private int x;
+    }
+
+    private abstract static class Shape
+    {
+    }
+
+    private static class Resources
+    {
+        private FileWriter writer;
+        private PrintStream printer;
+        private Socket socket;
+        private Timer timer;
+        private Thread thread;
+        private Output output;
+    }
+
+    private static class Output
+    {
+        private final FileOutputStream stream;
+
+        Output(final FileOutputStream stream)
+        {
+            this.stream = stream;
+        }
+    }
+}
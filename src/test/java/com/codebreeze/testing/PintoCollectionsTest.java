@@ -279,4 +279,20 @@ public class PintoCollectionsTest
         assertThat(PintoCollections.takeWhile(0, i -> ++i, i -> i < 10).toArray())
                 .containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
     }
+
+    @Test
+    public void immutable_lists_are_views_over_primitive_arrays()
+    {
+        final int[] ints = {3, 1, 2};
+        final List<Integer> intList = PintoCollections.immutableList(ints);
+        assertThat(intList).containsExactly(3, 1, 2).isEqualTo(asList(3, 1, 2)).isInstanceOf(RandomAccess.class);
+        assertThat(intList.hashCode()).isEqualTo(asList(3, 1, 2).hashCode());
+        assertThat(catchThrowable(() -> intList.add(4))).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(catchThrowable(() -> intList.set(0, 4))).isInstanceOf(UnsupportedOperationException.class);
+
+        assertThat(PintoCollections.immutableList(new long[]{5L, 6L})).containsExactly(5L, 6L);
+        assertThat(PintoCollections.immutableList(new double[]{0.5})).containsExactly(0.5);
+        assertThat(catchThrowable(() -> PintoCollections.immutableList((int[]) null)))
+                .isInstanceOf(NullPointerException.class);
+    }
 }
@@ -0,0 +1,74 @@
+package com.codebreeze.testing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares how many {@link Randoms} draws per millisecond each {@link RandomBackend} sustains when many threads
+ * generate at once. Not part of the test suite, run it by hand:
+ * <pre>
+ * java -cp target/classes:target/test-classes com.codebreeze.testing.RandomBackendThroughput [threads] [millis]
+ * </pre>
+ */
+public class RandomBackendThroughput
+{
+    public static void main(final String[] args) throws Exception
+    {
+        final int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        final long millis = args.length > 1 ? Long.parseLong(args[1]) : 2000L;
+        System.out.printf("%-20s %8s %16s%n", "backend", "threads", "draws/ms");
+        for (final RandomBackend backend : RandomBackend.values())
+        {
+            Randoms.useBackend(backend);
+            //warm up, then measure
+            run(threads, millis / 4);
+            System.out.printf("%-20s %8d %16.0f%n", backend, threads, run(threads, millis) / (double) millis);
+        }
+    }
+
+    private static long run(final int threads, final long millis) throws Exception
+    {
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try
+        {
+            final CountDownLatch start = new CountDownLatch(1);
+            final long nanos = TimeUnit.MILLISECONDS.toNanos(millis);
+            final List<Future<Long>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++)
+            {
+                results.add(executor.submit(() ->
+                {
+                    start.await();
+                    final long deadline = System.nanoTime() + nanos;
+                    long draws = 0;
+                    long sink = 0;
+                    while (System.nanoTime() < deadline)
+                    {
+                        for (int i = 0; i < 1024; i++)
+                        {
+                            sink += Randoms.nextInt(0, 1000);
+                        }
+                        draws += 1024;
+                    }
+                    return sink == 42 ? draws + 1 : draws;
+                }));
+            }
+            start.countDown();
+            long total = 0;
+            for (final Future<Long> result : results)
+            {
+                total += result.get();
+            }
+            return total;
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+}
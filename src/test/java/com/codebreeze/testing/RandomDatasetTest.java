@@ -0,0 +1,127 @@
+package com.codebreeze.testing;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class RandomDatasetTest
+{
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void records_follow_the_layout() throws Exception
+    {
+        final RandomDataset dataset = RandomDataset.builder()
+                                                   .withInt(10, 20)
+                                                   .withLiteral(",")
+                                                   .withText(6, Alphabet.NUMERIC)
+                                                   .withLong(-5L, 5L)
+                                                   .withDouble()
+                                                   .withBytes(3)
+                                                   .withLiteral("\n")
+                                                   .withRecordsPerChunk(100)
+                                                   .build();
+        assertThat(dataset.recordWidth()).isEqualTo(4 + 1 + 6 + 8 + 8 + 3 + 1);
+        final Path file = folder.newFile().toPath();
+        dataset.writeTo(file, 1_050);
+        assertThat(dataset.chunkCount(1_050)).isEqualTo(11L);
+        final ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        assertThat(bytes.remaining()).isEqualTo(1_050 * dataset.recordWidth());
+        for (int record = 0; record < 1_050; record++)
+        {
+            final int offset = record * dataset.recordWidth();
+            assertThat(bytes.getInt(offset)).isBetween(10, 19);
+            assertThat((char) bytes.get(offset + 4)).isEqualTo(',');
+            assertThat(new String(bytes.array(), offset + 5, 6, StandardCharsets.ISO_8859_1)).matches("[0-9]{6}");
+            assertThat(bytes.getLong(offset + 11)).isBetween(-5L, 4L);
+            assertThat(bytes.getDouble(offset + 19)).isBetween(0.0, 1.0).isNotEqualTo(1.0);
+            assertThat((char) bytes.get(offset + 30)).isEqualTo('\n');
+        }
+    }
+
+    @Test
+    public void same_seed_writes_the_same_file() throws Exception
+    {
+        final Path first = folder.newFile().toPath();
+        final Path second = folder.newFile().toPath();
+        final RandomDataset dataset = textDataset(42L);
+        dataset.writeTo(first, 100_000);
+        textDataset(42L).writeTo(second, 100_000);
+        assertThat(Files.readAllBytes(first)).isEqualTo(Files.readAllBytes(second));
+        assertThat(dataset.seed()).isEqualTo(42L);
+    }
+
+    @Test
+    public void a_single_chunk_can_be_regenerated() throws Exception
+    {
+        final Path file = folder.newFile().toPath();
+        final RandomDataset dataset = textDataset(7L);
+        dataset.writeTo(file, 10_000);
+        final byte[] original = Files.readAllBytes(file);
+        final int chunkBytes = dataset.recordsPerChunk() * dataset.recordWidth();
+        final byte[] damaged = original.clone();
+        Arrays.fill(damaged, 3 * chunkBytes, 4 * chunkBytes, (byte) 0);
+        Files.write(file, damaged);
+        dataset.writeChunk(file, 10_000, 3);
+        assertThat(Files.readAllBytes(file)).isEqualTo(original);
+    }
+
+    @Test
+    public void writing_replaces_a_longer_file() throws Exception
+    {
+        final Path file = folder.newFile().toPath();
+        Files.write(file, new byte[10_000]);
+        final RandomDataset dataset = textDataset(1L);
+        dataset.writeTo(file, 3);
+        assertThat(Files.size(file)).isEqualTo(3L * dataset.recordWidth());
+        dataset.writeTo(file, 0);
+        assertThat(Files.size(file)).isZero();
+    }
+
+    @Test
+    public void invalid_layouts_are_rejected()
+    {
+        assertThat(catchThrowable(() -> RandomDataset.builder().build())).isInstanceOf(IllegalStateException.class);
+        assertThat(catchThrowable(() -> RandomDataset.builder().withText(0, Alphabet.ASCII)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> RandomDataset.builder().withText(3, Alphabet.of("a\u4e00"))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> RandomDataset.builder().withInt(5, 5)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> RandomDataset.builder().withRecordsPerChunk(0)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void chunks_must_exist_in_a_file_of_the_right_size() throws Exception
+    {
+        final Path file = folder.newFile().toPath();
+        final RandomDataset dataset = textDataset(3L);
+        dataset.writeTo(file, 10);
+        assertThat(catchThrowable(() -> dataset.writeChunk(file, 10, 1))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> dataset.writeChunk(file, 11, 0))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> dataset.writeTo(file, -1))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static RandomDataset textDataset(final long seed)
+    {
+        return RandomDataset.builder()
+                            .withText(12, Alphabet.ALPHANUMERIC)
+                            .withLiteral(",")
+                            .withLong()
+                            .withLiteral("\n")
+                            .withRecordsPerChunk(1_000)
+                            .withSeed(seed)
+                            .build();
+    }
+}
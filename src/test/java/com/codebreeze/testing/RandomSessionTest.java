@@ -0,0 +1,128 @@
+package com.codebreeze.testing;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class RandomSessionTest
+{
+    @Test
+    public void same_seed_produces_same_values()
+    {
+        final String first = RandomSession.seeded(42L).call(() -> Randoms.randomAlphanumeric(50) + Randoms.randomLong());
+        final String second = RandomSession.seeded(42L).call(() -> Randoms.randomAlphanumeric(50) + Randoms.randomLong());
+        assertThat(first).isEqualTo(second);
+    }
+
+    @Test
+    public void different_seeds_produce_different_values()
+    {
+        assertThat(RandomSession.seeded(1L).call(() -> Randoms.randomAlphanumeric(50)))
+                .isNotEqualTo(RandomSession.seeded(2L).call(() -> Randoms.randomAlphanumeric(50)));
+    }
+
+    @Test
+    public void random_session_reports_its_seed_for_replay()
+    {
+        final RandomSession session = RandomSession.random();
+        assertThat(session.call(() -> Randoms.randomLong()))
+                .isEqualTo(RandomSession.seeded(session.seed()).call(() -> Randoms.randomLong()));
+    }
+
+    @Test
+    public void generate_does_not_depend_on_the_number_of_threads() throws Exception
+    {
+        final RandomSession session = RandomSession.seeded(7L);
+        final List<Long> sequential = IntStream.range(0, 200)
+                                               .mapToObj(i -> session.streamFor(i).nextLong())
+                                               .collect(toList());
+        final ForkJoinPool onePool = new ForkJoinPool(1);
+        final ForkJoinPool manyPool = new ForkJoinPool(8);
+        try
+        {
+            final List<Long> onOneThread = onePool.submit(() -> session.generate(200, i -> Randoms.source().nextLong())).get();
+            final List<Long> onManyThreads = manyPool.submit(() -> session.generate(200, i -> Randoms.source().nextLong())).get();
+            assertThat(onOneThread).isEqualTo(onManyThreads).isEqualTo(sequential);
+        }
+        finally
+        {
+            onePool.shutdown();
+            manyPool.shutdown();
+        }
+    }
+
+    @Test
+    public void streams_of_different_tasks_differ()
+    {
+        final RandomSession session = RandomSession.seeded(7L);
+        assertThat(session.streamFor(0).nextLong()).isNotEqualTo(session.streamFor(1).nextLong());
+    }
+
+    @Test
+    public void the_previous_source_is_restored_after_the_session()
+    {
+        final RandomSource before = Randoms.source();
+        RandomSession.seeded(3L).run(() -> assertThat(Randoms.source()).isNotSameAs(before));
+        assertThat(Randoms.source()).isSameAs(before);
+    }
+
+    @Test
+    public void the_previous_source_is_restored_when_the_work_fails()
+    {
+        final RandomSource before = Randoms.source();
+        final Throwable thrown = catchThrowable(() -> RandomSession.seeded(3L).run(() ->
+        {
+            throw new IllegalStateException("boom");
+        }));
+        assertThat(thrown).isInstanceOf(IllegalStateException.class);
+        assertThat(Randoms.source()).isSameAs(before);
+    }
+
+    @Test
+    public void generate_rejects_negative_counts()
+    {
+        assertThat(catchThrowable(() -> RandomSession.seeded(1L).generate(-1, i -> i)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void seeded_randomized_instances_are_reproducible()
+    {
+        final Bean first = RandomizedInstance.forClass(Bean.class).withSeed(99L).get();
+        final Bean second = RandomizedInstance.forClass(Bean.class).withSeed(99L).get();
+        assertThat(first.name).isEqualTo(second.name);
+        assertThat(first.age).isEqualTo(second.age);
+    }
+
+    @Test
+    public void failed_verification_reports_the_seed()
+    {
+        final Throwable thrown = catchThrowable(() -> EqualAndHashcodeTest.forClass(Bean.class).withSeed(5L).verify());
+        assertThat(thrown).isInstanceOf(AssertionError.class);
+        assertThat(thrown.getSuppressed()[0]).hasMessageContaining("withSeed(5L)");
+    }
+
+    private static class Bean
+    {
+        private String name;
+        private int age;
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            return o instanceof Bean;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.codebreeze.testing;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class RandomSourceTest
+{
+    @After
+    public void restoreDefaultBackend()
+    {
+        Randoms.useBackend(RandomBackend.THREAD_LOCAL_RANDOM);
+    }
+
+    @Test
+    public void every_backend_produces_values_within_bounds()
+    {
+        for (final RandomBackend backend : RandomBackend.values())
+        {
+            final RandomSource source = backend.newSource();
+            IntStream.range(0, 1000).forEach(i ->
+            {
+                assertThat(source.nextInt(7)).isBetween(0, 6);
+                assertThat(source.nextDouble()).isGreaterThanOrEqualTo(0.0).isLessThan(1.0);
+                assertThat(source.nextFloat()).isGreaterThanOrEqualTo(0.0f).isLessThan(1.0f);
+            });
+        }
+    }
+
+    @Test
+    public void every_backend_produces_different_values()
+    {
+        for (final RandomBackend backend : RandomBackend.values())
+        {
+            final RandomSource source = backend.newSource();
+            final Set<Long> longs = new HashSet<>();
+            IntStream.range(0, 100).forEach(i -> longs.add(source.nextLong()));
+            assertThat(longs).hasSize(100);
+        }
+    }
+
+    @Test
+    public void next_int_rejects_non_positive_bounds()
+    {
+        assertThat(catchThrowable(() -> RandomSource.l64x128MixRandom(1L).nextInt(0)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void bounded_ints_cover_signed_ranges()
+    {
+        final RandomSource source = RandomSource.seeded(11L);
+        IntStream.range(0, 1000).forEach(i ->
+        {
+            assertThat(source.nextInt(-10, -5)).isBetween(-10, -6);
+            assertThat(source.nextInt(Integer.MIN_VALUE, Integer.MIN_VALUE + 1)).isEqualTo(Integer.MIN_VALUE);
+        });
+        final Set<Boolean> signs = new HashSet<>();
+        IntStream.range(0, 100).forEach(i -> signs.add(source.nextInt(Integer.MIN_VALUE, Integer.MAX_VALUE) < 0));
+        assertThat(signs).containsOnly(true, false);
+    }
+
+    @Test
+    public void bounded_longs_cover_signed_ranges()
+    {
+        final RandomSource source = RandomSource.seeded(12L);
+        IntStream.range(0, 1000).forEach(i ->
+        {
+            assertThat(source.nextLong(-10L, -5L)).isBetween(-10L, -6L);
+            assertThat(source.nextLong(Long.MAX_VALUE - 1, Long.MAX_VALUE)).isEqualTo(Long.MAX_VALUE - 1);
+        });
+        final Set<Boolean> signs = new HashSet<>();
+        IntStream.range(0, 100).forEach(i -> signs.add(source.nextLong(Long.MIN_VALUE, Long.MAX_VALUE) < 0));
+        assertThat(signs).containsOnly(true, false);
+    }
+
+    @Test
+    public void bounded_longs_keep_their_low_bits()
+    {
+        final RandomSource source = RandomSource.seeded(13L);
+        final Set<Long> lowBits = new HashSet<>();
+        IntStream.range(0, 200).forEach(i -> lowBits.add(source.nextLong(Long.MAX_VALUE) & 0xFL));
+        assertThat(lowBits).hasSize(16);
+    }
+
+    @Test
+    public void bounded_ints_are_unbiased()
+    {
+        final RandomSource source = RandomSource.seeded(14L);
+        final int[] counts = new int[3];
+        IntStream.range(0, 30000).forEach(i -> counts[source.nextInt(3)]++);
+        for (final int count : counts)
+        {
+            assertThat(count).isBetween(9500, 10500);
+        }
+    }
+
+    @Test
+    public void bounded_values_reject_empty_ranges()
+    {
+        final RandomSource source = RandomSource.seeded(15L);
+        assertThat(catchThrowable(() -> source.nextInt(5, 5))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> source.nextLong(0L))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> source.nextLong(5L, 4L))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void multiply_high_unsigned_matches_big_integer_arithmetic()
+    {
+        final RandomSource source = RandomSource.seeded(16L);
+        final BigInteger mask = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+        IntStream.range(0, 1000).forEach(i ->
+        {
+            final long x = source.nextLong();
+            final long y = source.nextLong();
+            final BigInteger expected = new BigInteger(Long.toUnsignedString(x))
+                    .multiply(new BigInteger(Long.toUnsignedString(y)))
+                    .shiftRight(64)
+                    .and(mask);
+            assertThat(RandomSource.multiplyHighUnsigned(x, y)).isEqualTo(expected.longValue());
+        });
+    }
+
+    @Test
+    public void booleans_are_pooled_from_the_bits_of_one_draw()
+    {
+        final RandomSource pooled = RandomSource.seeded(17L);
+        final long bits = RandomSource.seeded(17L).nextLong();
+        for (int i = 0; i < 64; i++)
+        {
+            assertThat(pooled.nextBoolean()).isEqualTo(((bits >>> i) & 1L) != 0L);
+        }
+        assertThat(pooled.nextLong()).isNotEqualTo(bits);
+    }
+
+    @Test
+    public void bytes_are_pooled_from_the_bits_of_one_draw()
+    {
+        final RandomSource pooled = RandomSource.seeded(18L);
+        final long bits = RandomSource.seeded(18L).nextLong();
+        for (int i = 0; i < 8; i++)
+        {
+            assertThat(pooled.nextByte()).isEqualTo((byte) (bits >>> (8 * i)));
+        }
+    }
+
+    @Test
+    public void pooled_booleans_and_bytes_are_balanced()
+    {
+        final RandomSource source = RandomSource.seeded(19L);
+        final int[] trues = {0};
+        final int[] negatives = {0};
+        IntStream.range(0, 64000).forEach(i ->
+        {
+            trues[0] += source.nextBoolean() ? 1 : 0;
+            negatives[0] += source.nextByte() < 0 ? 1 : 0;
+        });
+        assertThat(trues[0]).isBetween(31000, 33000);
+        assertThat(negatives[0]).isBetween(31000, 33000);
+    }
+
+    @Test
+    public void next_bytes_fills_partial_words()
+    {
+        final byte[] bytes = new byte[13];
+        while (bytes[12] == 0)
+        {
+            RandomSource.l64x128MixRandom(System.nanoTime()).nextBytes(bytes);
+        }
+        assertThat(bytes[12]).isNotZero();
+    }
+
+    @Test
+    public void l64x128_mix_random_is_reproducible_from_its_seed()
+    {
+        final RandomSource first = RandomSource.l64x128MixRandom(42L);
+        final RandomSource second = RandomSource.l64x128MixRandom(42L);
+        IntStream.range(0, 100).forEach(i -> assertThat(first.nextLong()).isEqualTo(second.nextLong()));
+    }
+
+    @Test
+    public void jdk_random_source_delegates_to_the_given_random()
+    {
+        final RandomSource source = RandomSource.of(new Random(7L));
+        final Random random = new Random(7L);
+        IntStream.range(0, 100).forEach(i -> assertThat(source.nextInt(1000)).isEqualTo(random.nextInt(1000)));
+    }
+
+    @Test
+    public void randoms_switches_to_the_selected_backend()
+    {
+        for (final RandomBackend backend : RandomBackend.values())
+        {
+            Randoms.useBackend(backend);
+            assertThat(Randoms.backend()).isEqualTo(backend);
+            assertThat(Randoms.source().backend()).isEqualTo(backend);
+            assertThat(Randoms.randomAlphanumeric(10)).hasSize(10);
+        }
+    }
+
+    @Test
+    public void randoms_gives_each_thread_its_own_source() throws Exception
+    {
+        Randoms.useBackend(RandomBackend.SPLITTABLE_RANDOM);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            final Future<RandomSource> other = executor.submit(Randoms::source);
+            assertThat(other.get()).isNotSameAs(Randoms.source());
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void use_backend_rejects_null()
+    {
+        assertThat(catchThrowable(() -> Randoms.useBackend(null))).isInstanceOf(NullPointerException.class);
+    }
+}
@@ -2,6 +2,26 @@ package com.codebreeze.testing;
 
 import org.junit.Test;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -188,6 +208,176 @@ public class RandomizedInstanceTest {
         assertThat(testBean3.testBean2.name).isEqualTo("mango");
     }
 
+    @Test
+    public void boolean_fields_differ_across_instances() {
+        final Set<Boolean> values = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            values.add(RandomizedInstance.forClass(BooleanBean.class).get().flag);
+        }
+        assertThat(values).containsOnly(true, false);
+    }
+
+    @Test
+    public void date_and_time_fields_get_real_values() {
+        final TimeBean timeBean = RandomizedInstance.forClass(TimeBean.class).get();
+
+        assertThat(timeBean.date.getClass()).isEqualTo(Date.class);
+        assertThat(timeBean.instant).isNotNull();
+        assertThat(timeBean.localDate).isNotNull();
+        assertThat(timeBean.localTime).isNotNull();
+        assertThat(timeBean.localDateTime).isNotNull();
+        assertThat(timeBean.offsetDateTime).isNotNull();
+        assertThat(timeBean.zonedDateTime).isNotNull();
+        assertThat(timeBean.duration).isNotNull();
+    }
+
+    @Test
+    public void uuid_and_big_number_fields_get_real_values() {
+        final NumberBean numberBean = RandomizedInstance.forClass(NumberBean.class).get();
+
+        assertThat(numberBean.id.version()).isEqualTo(4);
+        assertThat(numberBean.bigInteger.getClass()).isEqualTo(BigInteger.class);
+        assertThat(numberBean.bigDecimal.getClass()).isEqualTo(BigDecimal.class);
+    }
+
+    @Test
+    public void array_fields_of_any_dimension_get_the_configured_length() {
+        final ArrayBean arrayBean = RandomizedInstance.forClass(ArrayBean.class).withArrayLength(3).get();
+
+        assertThat(arrayBean.floats).hasSize(3);
+        assertThat(arrayBean.chars).hasSize(3);
+        assertThat(arrayBean.matrix).hasSize(3);
+        assertThat(arrayBean.matrix[2]).hasSize(3);
+        assertThat(arrayBean.cube[1][2]).hasSize(3);
+        assertThat(arrayBean.names[0]).hasSize(3).doesNotContainNull();
+        assertThat(arrayBean.boxed).hasSize(3).doesNotContainNull();
+        assertThat(arrayBean.units).hasSize(3).doesNotContainNull();
+    }
+
+    @Test
+    public void array_lengths_follow_the_policy() {
+        final ArrayBean arrayBean = RandomizedInstance.forClass(ArrayBean.class).withArrayLength(1, 3).get();
+        assertThat(arrayBean.floats.length).isBetween(1, 2);
+
+        final ArrayBean singleBean = RandomizedInstance.forClass(ArrayBean.class).withArrayLength(() -> 1).get();
+        assertThat(singleBean.matrix).hasSize(1);
+        assertThat(singleBean.chars).hasSize(1);
+    }
+
+    @Test
+    public void array_length_policies_are_validated() {
+        assertThat(catchThrowable(() -> RandomizedInstance.forClass(ArrayBean.class).withArrayLength(0)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> RandomizedInstance.forClass(ArrayBean.class).withArrayLength(0, 2)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> RandomizedInstance.forClass(ArrayBean.class).withArrayLength(2, 2)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> RandomizedInstance.forClass(ArrayBean.class).withArrayLength(() -> 0).get()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void seeded_instances_replay_enum_arrays() {
+        final Unit[] first = RandomizedInstance.forClass(ArrayBean.class).withArrayLength(3).withSeed(42L).get().units;
+        final Unit[] second = RandomizedInstance.forClass(ArrayBean.class).withArrayLength(3).withSeed(42L).get().units;
+        assertThat(second).containsExactly(first);
+    }
+
+    @Test
+    public void suppliers_given_for_array_types_are_used() {
+        final int[][] given = {{1}};
+        final ArrayBean arrayBean = RandomizedInstance.forClass(ArrayBean.class)
+                                                      .withComplexTypeSupplier(int[][].class, () -> given)
+                                                      .get();
+        assertThat(arrayBean.matrix).isSameAs(given);
+    }
+
+    @Test
+    public void generic_collection_map_and_optional_fields_get_filled_instances() {
+        final GenericBean bean = RandomizedInstance.forClass(GenericBean.class).withCollectionSize(5).get();
+
+        assertThat(bean.names).isInstanceOf(ArrayList.class).hasSize(5).doesNotContainNull();
+        assertThat(bean.ids).isInstanceOf(HashSet.class).hasSize(5);
+        assertThat(bean.units).isInstanceOf(HashMap.class).hasSize(5);
+        assertThat(bean.ordered).isInstanceOf(LinkedHashMap.class).hasSize(5);
+        assertThat(bean.maybe).isPresent();
+        assertThat(bean.nested).hasSize(5);
+        assertThat(bean.nested.get(0)).hasSize(5).doesNotContainNull();
+        assertThat(bean.numbers).hasSize(5);
+        assertThat(bean.numbers.iterator().next()).isInstanceOf(Number.class);
+    }
+
+    @Test
+    public void lists_of_boxed_numbers_are_backed_by_primitive_arrays_when_asked_for() {
+        final GenericBean mutable = RandomizedInstance.forClass(GenericBean.class).withCollectionSize(2000).get();
+        assertThat(mutable.counts).isInstanceOf(ArrayList.class).hasSize(2000);
+        mutable.counts.add(1);
+
+        final GenericBean bean = RandomizedInstance.forClass(GenericBean.class)
+                                                   .withCollectionSize(3)
+                                                   .withPrimitiveBackedLists()
+                                                   .get();
+        assertThat(bean.counts).hasSize(3).doesNotContainNull();
+        assertThat(catchThrowable(() -> bean.counts.add(1))).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(bean.mutableCounts).isInstanceOf(ArrayList.class).hasSize(3);
+        assertThat(bean.ids).isInstanceOf(HashSet.class);
+        bean.mutableCounts.add(1);
+    }
+
+    @Test
+    public void collection_size_policies_are_validated() {
+        assertThat(catchThrowable(() -> RandomizedInstance.forClass(GenericBean.class).withCollectionSize(0)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> RandomizedInstance.forClass(GenericBean.class).withCollectionSize(0, 3)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> RandomizedInstance.forClass(GenericBean.class).withCollectionSize(() -> 0).get()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static class GenericBean {
+        private List<String> names;
+        private Set<Long> ids;
+        private Map<String, Unit> units;
+        private LinkedHashMap<String, Integer> ordered;
+        private Optional<Integer> maybe;
+        private List<List<String>> nested;
+        private Collection<? extends Number> numbers;
+        private List<Integer> counts;
+        private ArrayList<Integer> mutableCounts;
+    }
+
+    private enum Unit {ONE, TWO}
+
+    private static class BooleanBean {
+        private boolean flag;
+    }
+
+    private static class ArrayBean {
+        private float[] floats;
+        private char[] chars;
+        private int[][] matrix;
+        private long[][][] cube;
+        private String[][] names;
+        private Integer[] boxed;
+        private Unit[] units;
+    }
+
+    private static class NumberBean {
+        private UUID id;
+        private BigInteger bigInteger;
+        private BigDecimal bigDecimal;
+    }
+
+    private static class TimeBean {
+        private Date date;
+        private Instant instant;
+        private LocalDate localDate;
+        private LocalTime localTime;
+        private LocalDateTime localDateTime;
+        private OffsetDateTime offsetDateTime;
+        private ZonedDateTime zonedDateTime;
+        private Duration duration;
+    }
 
     private static class TestBean {
         private final String name;
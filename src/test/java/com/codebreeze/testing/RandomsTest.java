@@ -5,9 +5,18 @@ import org.mockito.internal.util.collections.Sets;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.function.IntSupplier;
 import java.util.function.Supplier;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -16,6 +25,7 @@ import static com.codebreeze.testing.PintoCollections.hashSet;
 import static com.codebreeze.testing.Randoms.randomBoolean;
 import static com.codebreeze.testing.Randoms.randomFrom;
 import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
@@ -103,6 +113,87 @@ public class RandomsTest
         IntStream.range(0, 300).forEach(i -> Randoms.randomChar());
     }
 
+    @Test
+    public void random_char_is_never_a_surrogate()
+    {
+        IntStream.range(0, 10000).forEach(i -> assertThat(Character.isSurrogate(Randoms.randomChar())).isFalse());
+    }
+
+    @Test
+    public void random_code_point_is_a_valid_scalar_value()
+    {
+        IntStream.range(0, 10000).forEach(i ->
+        {
+            final int codePoint = Randoms.randomCodePoint();
+            assertThat(Character.isValidCodePoint(codePoint)).isTrue();
+            assertThat(codePoint < Character.MIN_SURROGATE || codePoint > Character.MAX_SURROGATE).isTrue();
+        });
+    }
+
+    @Test
+    public void random_code_points_come_from_the_requested_category_script_or_block()
+    {
+        assertThat(Character.isDigit(Randoms.randomCodePointOfType(Character.DECIMAL_DIGIT_NUMBER))).isTrue();
+        assertThat(Character.UnicodeScript.of(Randoms.randomCodePoint(Character.UnicodeScript.ARABIC)))
+                .isEqualTo(Character.UnicodeScript.ARABIC);
+        assertThat(Character.UnicodeBlock.of(Randoms.randomCodePoint(Character.UnicodeBlock.BASIC_LATIN)))
+                .isEqualTo(Character.UnicodeBlock.BASIC_LATIN);
+        assertThat(Character.isLetter(Randoms.randomLetter(Character.UnicodeScript.HAN))).isTrue();
+        assertThat(Randoms.randomCodePoint(CodePointTable.ofRanges('q', 'q'))).isEqualTo('q');
+    }
+
+    @Test
+    public void random_string_from_table_has_the_requested_code_points()
+    {
+        final String s = Randoms.randomString(100, CodePointTable.ofRanges(0x1F600, 0x1F64F));
+        assertThat(s.codePointCount(0, s.length())).isEqualTo(100);
+        assertThat(s).hasSize(200);
+        assertThat(Randoms.randomString(0, CodePointTable.ALL)).isEmpty();
+    }
+
+    @Test
+    public void random_strings_of_a_range_stay_in_the_range()
+    {
+        //neither range holds a whole supplementary character, the second only pairs its high surrogates with DC00
+        IntStream.range(0, 200).forEach(i ->
+        {
+            final String s = Randoms.randomString(9, 0xD7FF, 0xD801, false, false);
+            s.chars().forEach(c -> assertThat(c).isBetween(0xD7FF, 0xD800));
+        });
+        IntStream.range(0, 200).forEach(i ->
+        {
+            final String s = Randoms.randomString(9, 0xD7FF, 0xDC01, false, false);
+            assertThat(s).hasSize(9);
+            s.chars().forEach(c -> assertThat(c).isBetween(0xD7FF, 0xDC00));
+            s.codePoints().forEach(c -> assertThat(c == 0xD7FF || Character.lowSurrogate(c) == '\uDC00').isTrue());
+        });
+        assertThat(catchThrowable(() -> Randoms.randomString(3, 0xD800, 0xE000, false, false)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> Randoms.randomString(2, 0xD800, 0xDC00, false, false)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void random_string_never_contains_lone_surrogates()
+    {
+        IntStream.range(0, 200).forEach(i ->
+        {
+            final String s = Randoms.randomString(i % 7 + 1);
+            assertThat(s).hasSize(i % 7 + 1);
+            for (int c = 0; c < s.length(); c++)
+            {
+                if (Character.isHighSurrogate(s.charAt(c)))
+                {
+                    assertThat(Character.isLowSurrogate(s.charAt(++c))).isTrue();
+                }
+                else
+                {
+                    assertThat(Character.isLowSurrogate(s.charAt(c))).isFalse();
+                }
+            }
+        });
+    }
+
     @Test
     public void random_string_respects_size_requirements()
     {
@@ -423,6 +514,46 @@ public class RandomsTest
                             Randoms.randomInt(-500, 1500)).size() == 1);
     }
 
+    @Test
+    public void random_int_between_accepts_the_full_signed_range()
+    {
+        IntStream.range(0, 100).forEach(i ->
+        {
+            assertThat(Randoms.randomInt(-20, -10)).isBetween(-20, -11);
+            assertThat(Randoms.randomInt(Integer.MIN_VALUE, Integer.MAX_VALUE)).isLessThan(Integer.MAX_VALUE);
+        });
+        assertThat(Randoms.randomInt(-3, -3)).isEqualTo(-3);
+        assertThat(catchThrowable(() -> Randoms.randomInt(1, 0))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void random_long_between_accepts_the_full_signed_range()
+    {
+        IntStream.range(0, 100).forEach(i ->
+        {
+            assertThat(Randoms.randomLong(-20L, -10L)).isBetween(-20L, -11L);
+            assertThat(Randoms.randomLong(Long.MIN_VALUE, Long.MAX_VALUE)).isLessThan(Long.MAX_VALUE);
+        });
+        assertThat(Randoms.randomLong(-3L, -3L)).isEqualTo(-3L);
+        assertThat(catchThrowable(() -> Randoms.randomLong(1L, 0L))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void next_long_is_exact_above_two_to_the_fifty_three()
+    {
+        final Set<Long> parities = new HashSet<>();
+        IntStream.range(0, 100).forEach(i -> parities.add(Randoms.nextLong(1L << 60, Long.MAX_VALUE) & 1L));
+        assertThat(parities).containsOnly(0L, 1L);
+    }
+
+    @Test
+    public void random_short_covers_negative_and_positive_values()
+    {
+        final Set<Boolean> signs = new HashSet<>();
+        IntStream.range(0, 100).forEach(i -> signs.add(Randoms.randomShort() < 0));
+        assertThat(signs).containsOnly(true, false);
+    }
+
     /**
      * after five seconds of trying on the randomString generator to get different
      * values, I am doubtful this is randomString
@@ -651,6 +782,19 @@ public class RandomsTest
         assertThat(Randoms.randomString(count, start, end, letters, numbers, chars)).hasSize(1);
     }
 
+    @Test
+    public void random_string_with_a_range_and_filter_only_draws_matching_chars() {
+        assertThat(Randoms.randomString(100, '0', 'z' + 1, false, true)).matches("[0-9]{100}");
+        assertThat(Randoms.randomString(100, 'a', 'd', true, false)).matches("[abc]{100}");
+        assertThat(Randoms.randomString(10, Alphabet.of("z"))).isEqualTo("zzzzzzzzzz");
+    }
+
+    @Test
+    public void random_string_rejects_filters_no_char_can_pass() {
+        assertThat(catchThrowable(() -> Randoms.randomString(5, '-', '/', true, true)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     public void random_numeric_factory_returns_different_results() {
         final Supplier<String> stringSupplier = Randoms.randomNumericFactory(5);
@@ -896,6 +1040,28 @@ public class RandomsTest
                            .matches(Randoms.XML_1_0PATTERN));
     }
 
+    @Test
+    public void xml_strings_have_the_requested_length_and_only_valid_chars()
+    {
+        IntStream.range(0, 50).forEach(n ->
+        {
+            final String xml10 = Randoms.randomXml10String(n);
+            final String xml11 = Randoms.randomXml11String(n);
+            assertThat(xml10).hasSize(n);
+            assertThat(xml11).hasSize(n);
+            xml10.codePoints().forEach(c -> assertThat(CodePointTable.XML_1_0.contains(c)).isTrue());
+            xml11.codePoints().forEach(c -> assertThat(CodePointTable.XML_1_1.contains(c)).isTrue());
+        });
+        assertThat(Randoms.randomXml11String(1, 10).length()).isBetween(1, 9);
+        assertThat(catchThrowable(() -> Randoms.randomXml10String(-1))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void large_xml_strings_are_generated_without_recursion()
+    {
+        assertThat(Randoms.randomXml10String(1_000_000)).hasSize(1_000_000);
+    }
+
     @Test
     public void random_enum_factory_returns_different_members()
     {
@@ -906,6 +1072,546 @@ public class RandomsTest
         }
     }
 
+    @Test
+    public void fill_int_array_stays_within_range()
+    {
+        final int[] values = Randoms.fill(new int[10000], -5, 5);
+        final Set<Integer> seen = new HashSet<>();
+        for (final int value : values)
+        {
+            assertThat(value).isBetween(-5, 4);
+            seen.add(value);
+        }
+        assertThat(seen).hasSize(10);
+    }
+
+    @Test
+    public void fill_sub_array_leaves_the_rest_untouched()
+    {
+        final int[] values = Randoms.fill(new int[100], 10, 20, 1, 1000);
+        for (int i = 0; i < values.length; i++)
+        {
+            if (i >= 10 && i < 20)
+            {
+                assertThat(values[i]).isBetween(1, 999);
+            }
+            else
+            {
+                assertThat(values[i]).isZero();
+            }
+        }
+        final long[] longs = Randoms.fill(new long[10], 2, 4, 7L, 7L);
+        assertThat(longs).containsExactly(0L, 0L, 7L, 7L, 0L, 0L, 0L, 0L, 0L, 0L);
+    }
+
+    @Test
+    public void fill_rejects_bad_ranges()
+    {
+        assertThat(catchThrowable(() -> Randoms.fill(new int[3], 5, 4))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> Randoms.fill(new long[3], 2, 1, 0L, 5L))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> Randoms.fill(new int[3], 0, 4, 0, 5))).isInstanceOf(ArrayIndexOutOfBoundsException.class);
+        assertThat(catchThrowable(() -> Randoms.fill(new double[3], 1.0, 1.0))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> Randoms.fill(new double[3], -Double.MAX_VALUE, Double.MAX_VALUE)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> Randoms.ints(-1))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void fill_long_array_covers_signed_ranges()
+    {
+        for (final long value : Randoms.longs(1000, Long.MIN_VALUE, -1L))
+        {
+            assertThat(value).isNegative();
+        }
+        assertThat(Arrays.stream(Randoms.longs(1000)).distinct().count()).isEqualTo(1000L);
+    }
+
+    @Test
+    public void fill_double_array_stays_below_the_upper_bound()
+    {
+        for (final double value : Randoms.doubles(1000))
+        {
+            assertThat(value).isGreaterThanOrEqualTo(0.0).isLessThan(1.0);
+        }
+        for (final double value : Randoms.doubles(1000, 1.0, Math.nextUp(1.0)))
+        {
+            assertThat(value).isEqualTo(1.0);
+        }
+        for (final double value : Randoms.doubles(1000, -3.0, 2.0))
+        {
+            assertThat(value).isGreaterThanOrEqualTo(-3.0).isLessThan(2.0);
+        }
+    }
+
+    @Test
+    public void bulk_primitives_are_not_constant()
+    {
+        assertThat(Randoms.booleans(100)).contains(true, false);
+        final byte[] bytes = Randoms.bytes(100);
+        assertThat(IntStream.range(0, bytes.length).map(i -> bytes[i]).distinct().count()).isGreaterThan(1L);
+        final short[] shorts = Randoms.shorts(7);
+        assertThat(shorts[0] == shorts[1] && shorts[1] == shorts[2] && shorts[4] == shorts[5] && shorts[5] == shorts[6])
+                .isFalse();
+        for (final float value : Randoms.floats(1000))
+        {
+            assertThat(value).isGreaterThanOrEqualTo(0.0f).isLessThan(1.0f);
+        }
+        for (final char c : Randoms.fill(new char[100], Alphabet.NUMERIC))
+        {
+            assertThat(Character.isDigit(c)).isTrue();
+        }
+    }
+
+    @Test
+    public void bulk_fill_is_reproducible_in_a_session()
+    {
+        assertThat(RandomSession.seeded(4L).call(() -> Randoms.ints(100, 0, 10)))
+                .isEqualTo(RandomSession.seeded(4L).call(() -> Randoms.ints(100, 0, 10)));
+    }
+
+    @Test
+    public void random_streams_are_sized_and_bounded()
+    {
+        assertThat(Randoms.randomInts(1000).spliterator().getExactSizeIfKnown()).isEqualTo(1000L);
+        assertThat(Randoms.randomInts(1000, -3, 3).allMatch(i -> i >= -3 && i < 3)).isTrue();
+        assertThat(Randoms.randomLongs(1000, Long.MIN_VALUE, 0L).allMatch(l -> l < 0L)).isTrue();
+        assertThat(Randoms.randomDoubles(1000).allMatch(d -> d >= 0.0 && d < 1.0)).isTrue();
+        assertThat(Randoms.randomDoubles(1000, 5.0, 6.0).allMatch(d -> d >= 5.0 && d < 6.0)).isTrue();
+        assertThat(Randoms.randomStrings(100, 8, Alphabet.NUMERIC).allMatch(s -> s.matches("[0-9]{8}"))).isTrue();
+    }
+
+    @Test
+    public void parallel_random_streams_produce_every_element()
+    {
+        assertThat(Randoms.randomInts(1000000, 0, 10).parallel().count()).isEqualTo(1000000L);
+        assertThat(Randoms.randomLongs(100000).parallel().distinct().count()).isEqualTo(100000L);
+        final long[] counts = Randoms.randomInts(1000000, 0, 4)
+                                     .parallel()
+                                     .collect(() -> new long[4], (c, i) -> c[i]++, (c1, c2) ->
+                                     {
+                                         for (int i = 0; i < c1.length; i++)
+                                         {
+                                             c1[i] += c2[i];
+                                         }
+                                     });
+        for (final long count : counts)
+        {
+            assertThat(count).isBetween(245000L, 255000L);
+        }
+    }
+
+    @Test
+    public void random_stream_splits_draw_from_independent_sources()
+    {
+        final Spliterator.OfInt first = Randoms.randomInts(1000).spliterator();
+        final Spliterator.OfInt second = first.trySplit();
+        assertThat(first.estimateSize() + second.estimateSize()).isEqualTo(1000L);
+        final int[] a = new int[10];
+        final int[] b = new int[10];
+        for (int i = 0; i < 10; i++)
+        {
+            final int index = i;
+            first.tryAdvance((int value) -> a[index] = value);
+            second.tryAdvance((int value) -> b[index] = value);
+        }
+        assertThat(a).isNotEqualTo(b);
+    }
+
+    @Test
+    public void random_streams_reject_bad_arguments()
+    {
+        assertThat(catchThrowable(() -> Randoms.randomInts(-1))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> Randoms.randomInts(10, 3, 3))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> Randoms.randomLongs(10, 3L, 2L))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> Randoms.randomDoubles(10, 1.0, 0.0))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> Randoms.randomStrings(10, -1, Alphabet.ASCII)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void sequential_random_streams_are_reproducible_in_a_session()
+    {
+        assertThat(RandomSession.seeded(8L).call(() -> Randoms.randomLongs(100).boxed().collect(toList())))
+                .isEqualTo(RandomSession.seeded(8L).call(() -> Randoms.randomLongs(100).boxed().collect(toList())));
+    }
+
+    @Test
+    public void random_set_from_handles_large_collections()
+    {
+        final List<Integer> ints = IntStream.range(0, 100000).boxed().collect(toList());
+        final Set<Integer> subset = Randoms.randomSetFrom(ints);
+        assertThat(subset.size()).isBetween(48000, 52000);
+        assertThat(Randoms.randomSetFrom(1000, ints)).hasSize(1000).allMatch(i -> i >= 0 && i < 100000);
+    }
+
+    @Test
+    public void random_set_from_is_uniform_over_subsets_of_a_size()
+    {
+        final Map<Set<Integer>, Integer> counts = new HashMap<>();
+        IntStream.range(0, 60000).forEach(i -> counts.merge(Randoms.randomSetFrom(2, asList(1, 2, 3, 4)), 1, Integer::sum));
+        assertThat(counts).hasSize(6);
+        counts.values().forEach(count -> assertThat(count).isBetween(9400, 10600));
+    }
+
+    @Test
+    public void random_set_from_rejects_more_items_than_distinct_elements()
+    {
+        assertThat(catchThrowable(() -> Randoms.randomSetFrom(5, asList(1, 1, 2, 4, 5))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> Randoms.randomSetFrom(-1, asList(1, 2))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void random_sample_of_a_list_picks_distinct_positions()
+    {
+        final List<Integer> sample = Randoms.randomSample(50, IntStream.range(0, 1000000).boxed().collect(toList()));
+        assertThat(sample).hasSize(50).doesNotHaveDuplicates();
+        assertThat(Randoms.randomSample(3, new LinkedList<>(asList("a", "a", "a")))).containsExactly("a", "a", "a");
+        assertThat(catchThrowable(() -> Randoms.randomSample(4, asList(1, 2, 3))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void reservoir_sample_of_a_stream_is_uniform()
+    {
+        final int[] counts = new int[10];
+        IntStream.range(0, 20000).forEach(i -> Randoms.randomSample(3, IntStream.range(0, 10).boxed())
+                                                      .forEach(picked -> counts[picked]++));
+        for (final int count : counts)
+        {
+            assertThat(count).isBetween(5600, 6400);
+        }
+    }
+
+    @Test
+    public void reservoir_sample_of_an_iterable_keeps_the_sample_size()
+    {
+        final Iterable<Integer> iterable = () -> IntStream.range(0, 100000).iterator();
+        assertThat(Randoms.randomSample(10, iterable)).hasSize(10).doesNotHaveDuplicates();
+        assertThat(Randoms.randomSample(0, iterable)).isEmpty();
+        assertThat(catchThrowable(() -> Randoms.randomSample(3, Stream.of(1, 2))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void random_from_random_access_list_picks_every_element()
+    {
+        final List<Integer> list = IntStream.range(0, 100000).boxed().collect(toList());
+        final Set<Boolean> halves = new HashSet<>();
+        IntStream.range(0, 100).forEach(i -> halves.add(randomFrom(list) < 50000));
+        assertThat(halves).containsOnly(true, false);
+        final Set<Integer> picked = new HashSet<>();
+        IntStream.range(0, 200).forEach(i -> picked.add(randomFrom(new LinkedList<>(asList(1, 2, 3)))));
+        assertThat(picked).containsOnly(1, 2, 3);
+    }
+
+    @Test
+    public void random_enum_factory_covers_every_constant()
+    {
+        final Supplier<TestEnum> factory = Randoms.randomEnumFactory(TestEnum.class);
+        final Set<TestEnum> picked = new HashSet<>();
+        IntStream.range(0, 100).forEach(i -> picked.add(factory.get()));
+        assertThat(picked).containsOnly(TestEnum.values());
+    }
+
+    @Test
+    public void random_not_in_gives_up_after_the_attempt_limit()
+    {
+        final Throwable thrown = catchThrowable(() -> Randoms.randomNotIn(() -> 1, asList(1, 2), 100));
+        assertThat(thrown).isInstanceOf(IllegalStateException.class).hasMessageContaining("100 attempts");
+        assertThat(catchThrowable(() -> Randoms.randomNotIn(() -> 1, asList(2), 0)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void random_int_not_in_samples_the_complement_when_almost_everything_is_excluded()
+    {
+        final List<Integer> excluded = IntStream.range(0, 1000000).filter(i -> i % 100 != 7).boxed().collect(toList());
+        final IntSupplier allowed = Randoms.intNotInFactory(0, 1000000, excluded);
+        final Set<Integer> seen = new HashSet<>();
+        IntStream.range(0, 300000).forEach(i ->
+        {
+            final int value = allowed.getAsInt();
+            assertThat(value % 100).isEqualTo(7);
+            seen.add(value);
+        });
+        assertThat(seen).hasSize(10000);
+    }
+
+    @Test
+    public void random_int_not_in_is_uniform_over_the_complement()
+    {
+        final int[] counts = new int[10];
+        IntStream.range(0, 40000).forEach(i -> counts[Randoms.randomIntNotIn(0, 10, asList(0, 3, 3, 4, 9, 42, -1))]++);
+        for (final int value : new int[]{0, 3, 4, 9})
+        {
+            assertThat(counts[value]).isZero();
+        }
+        for (final int value : new int[]{1, 2, 5, 6, 7, 8})
+        {
+            assertThat(counts[value]).isBetween(6100, 7200);
+        }
+    }
+
+    @Test
+    public void random_long_not_in_handles_signed_and_full_ranges()
+    {
+        IntStream.range(0, 1000).forEach(i ->
+        {
+            assertThat(Randoms.randomLongNotIn(-3L, 3L, asList(-3L, -2L, -1L, 0L, 2L))).isEqualTo(1L);
+            assertThat(Randoms.randomLongNotIn(Long.MIN_VALUE, Long.MAX_VALUE, asList(0L))).isNotZero();
+        });
+        assertThat(Randoms.randomLongNotIn(Long.MAX_VALUE - 2, Long.MAX_VALUE, asList(Long.MAX_VALUE - 1)))
+                .isEqualTo(Long.MAX_VALUE - 2);
+    }
+
+    @Test
+    public void random_char_not_in_skips_surrogates_and_exclusions()
+    {
+        final List<Character> excluded = new ArrayList<>();
+        for (char c = 0; c < 0xFFFF; c++)
+        {
+            excluded.add(c);
+        }
+        assertThat(Randoms.randomCharNotIn(excluded)).isEqualTo('\uFFFF');
+        IntStream.range(0, 1000).forEach(i ->
+        {
+            final char c = Randoms.randomCharNotIn(asList('a', 'b'));
+            assertThat(Character.isSurrogate(c)).isFalse();
+            assertThat(c).isNotIn('a', 'b');
+        });
+    }
+
+    @Test
+    public void random_enum_not_in_skips_exclusions()
+    {
+        IntStream.range(0, 100).forEach(i -> assertThat(Randoms.randomNotIn(TestEnum.class, asList(TestEnum.A, TestEnum.C)))
+                .isEqualTo(TestEnum.B));
+        assertThat(catchThrowable(() -> Randoms.randomNotIn(TestEnum.class, asList(TestEnum.values()))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void complement_sampling_rejects_fully_excluded_ranges()
+    {
+        assertThat(catchThrowable(() -> Randoms.randomIntNotIn(0, 2, asList(0, 1))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> Randoms.randomIntNotIn(2, 2, asList(0, 1))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void random_instants_stay_within_the_range_to_the_nanosecond()
+    {
+        final Instant from = Instant.ofEpochSecond(100L, 999_999_990);
+        final Instant to = Instant.ofEpochSecond(101L, 5);
+        final Set<Instant> seen = new HashSet<>();
+        IntStream.range(0, 1000).forEach(i ->
+        {
+            final Instant instant = Randoms.randomInstantBetween(from, to);
+            assertThat(instant).isGreaterThanOrEqualTo(from).isLessThan(to);
+            seen.add(instant);
+        });
+        assertThat(seen).hasSize(15);
+        assertThat(Randoms.randomInstantBetween(from, from)).isEqualTo(from);
+        assertThat(catchThrowable(() -> Randoms.randomInstantBetween(to, from))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void random_instants_cover_ranges_wider_than_a_long_of_nanoseconds()
+    {
+        IntStream.range(0, 1000).forEach(i ->
+        {
+            final Instant instant = Randoms.randomInstantBetween(Instant.MIN, Instant.MAX);
+            assertThat(instant).isGreaterThanOrEqualTo(Instant.MIN).isLessThan(Instant.MAX);
+        });
+        final Set<Boolean> beforeEpoch = new HashSet<>();
+        IntStream.range(0, 100).forEach(i -> beforeEpoch.add(Randoms.randomInstant().isBefore(Instant.EPOCH)));
+        assertThat(beforeEpoch).containsOnly(true, false);
+    }
+
+    @Test
+    public void random_local_dates_and_times_stay_within_their_ranges()
+    {
+        final LocalDate from = LocalDate.of(2020, 2, 27);
+        final LocalDate to = LocalDate.of(2020, 3, 2);
+        final Set<LocalDate> dates = new HashSet<>();
+        IntStream.range(0, 500).forEach(i -> dates.add(Randoms.randomLocalDateBetween(from, to)));
+        assertThat(dates).containsOnly(from, from.plusDays(1), from.plusDays(2), from.plusDays(3));
+        assertThat(Randoms.randomLocalDate()).isNotNull();
+        assertThat(Randoms.randomLocalTime()).isNotNull();
+        final LocalDateTime start = LocalDateTime.of(2001, 1, 1, 0, 0);
+        IntStream.range(0, 1000).forEach(i -> assertThat(Randoms.randomDateBetween(start, start.plusHours(1)))
+                .isAfterOrEqualTo(start).isBefore(start.plusHours(1)));
+    }
+
+    @Test
+    public void random_offsets_are_whole_quarter_hours()
+    {
+        IntStream.range(0, 1000).forEach(i ->
+        {
+            final ZoneOffset offset = Randoms.randomZoneOffset();
+            assertThat(offset.getTotalSeconds() % 900).isZero();
+            assertThat(Randoms.randomOffsetDateTime()).isNotNull();
+            assertThat(Randoms.randomZonedDateTime().getZone()).isInstanceOf(ZoneOffset.class);
+        });
+    }
+
+    @Test
+    public void random_durations_stay_within_their_ranges()
+    {
+        IntStream.range(0, 1000).forEach(i ->
+        {
+            assertThat(Randoms.randomDuration()).isGreaterThanOrEqualTo(Duration.ZERO).isLessThan(Duration.ofDays(36500));
+            assertThat(Randoms.randomDurationBetween(Duration.ofMillis(-5), Duration.ofMillis(5)))
+                    .isGreaterThanOrEqualTo(Duration.ofMillis(-5)).isLessThan(Duration.ofMillis(5));
+        });
+    }
+
+    @Test
+    public void random_dates_accept_the_ends_in_either_order()
+    {
+        final Date early = new Date(1000L);
+        final Date late = new Date(2000L);
+        IntStream.range(0, 1000).forEach(i ->
+        {
+            assertThat(Randoms.randomDateBetween(late, early).getTime()).isBetween(1000L, 1999L);
+            assertThat(Randoms.randomDateBetween(Randoms.MIN_DATE, Randoms.MAX_DATE)).isNotNull();
+        });
+        assertThat(Randoms.randomDateBetween(early, early)).isEqualTo(early);
+        final LocalDateTime start = LocalDateTime.of(2001, 1, 1, 0, 0);
+        IntStream.range(0, 1000).forEach(i -> assertThat(Randoms.randomDateBetween(start.plusHours(1), start))
+                .isAfterOrEqualTo(start).isBefore(start.plusHours(1)));
+        assertThat(Randoms.randomDateBetween(start, start)).isEqualTo(start);
+    }
+
+    @Test
+    public void random_uuids_are_version_4_ietf_variant()
+    {
+        final Set<UUID> uuids = new HashSet<>();
+        IntStream.range(0, 10000).forEach(i ->
+        {
+            final UUID uuid = Randoms.randomUUID();
+            assertThat(uuid.version()).isEqualTo(4);
+            assertThat(uuid.variant()).isEqualTo(2);
+            uuids.add(uuid);
+        });
+        assertThat(uuids).hasSize(10000);
+        assertThat(UUID.fromString(Randoms.randomUUID().toString()).version()).isEqualTo(4);
+    }
+
+    @Test
+    public void time_ordered_uuids_carry_their_timestamp()
+    {
+        final long millis = 1_700_000_000_123L;
+        final UUID uuid = Randoms.randomTimeOrderedUUID(millis);
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(uuid.getMostSignificantBits() >>> 16).isEqualTo(millis);
+        final UUID later = Randoms.randomTimeOrderedUUID(millis + 1);
+        assertThat(Long.compareUnsigned(later.getMostSignificantBits(), uuid.getMostSignificantBits())).isPositive();
+        assertThat(Randoms.randomTimeOrderedUUID().version()).isEqualTo(7);
+    }
+
+    @Test
+    public void random_big_integers_respect_their_bit_length()
+    {
+        final Set<Integer> bitLengths = new HashSet<>();
+        IntStream.range(0, 1000).forEach(i ->
+        {
+            final BigInteger value = Randoms.randomBigInteger(77);
+            assertThat(value.signum()).isNotNegative();
+            assertThat(value.bitLength()).isLessThanOrEqualTo(77);
+            bitLengths.add(value.bitLength());
+        });
+        assertThat(bitLengths).contains(77, 76);
+        assertThat(Randoms.randomBigInteger(0)).isEqualTo(BigInteger.ZERO);
+        assertThat(catchThrowable(() -> Randoms.randomBigInteger(-1))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void random_big_integers_stay_below_their_bound()
+    {
+        final BigInteger bound = BigInteger.ONE.shiftLeft(100).add(BigInteger.ONE);
+        IntStream.range(0, 1000).forEach(i -> assertThat(Randoms.randomBigInteger(bound)).isLessThan(bound));
+        final Set<BigInteger> small = new HashSet<>();
+        IntStream.range(0, 1000).forEach(i -> small.add(Randoms.randomBigInteger(BigInteger.valueOf(3))));
+        assertThat(small).containsOnly(BigInteger.ZERO, BigInteger.ONE, BigInteger.valueOf(2));
+        assertThat(catchThrowable(() -> Randoms.randomBigInteger(BigInteger.ZERO)))
+                .isInstanceOf(IllegalArgumentException.class);
+        final Set<Integer> signs = new HashSet<>();
+        IntStream.range(0, 100).forEach(i -> signs.add(Randoms.randomBigInteger().signum()));
+        assertThat(signs).contains(1, -1);
+    }
+
+    @Test
+    public void random_big_decimals_respect_precision_and_scale()
+    {
+        IntStream.range(0, 1000).forEach(i ->
+        {
+            final BigDecimal small = Randoms.randomBigDecimal(5, 2);
+            assertThat(small.scale()).isEqualTo(2);
+            assertThat(small.precision()).isLessThanOrEqualTo(5);
+            final BigDecimal large = Randoms.randomBigDecimal(40, -3);
+            assertThat(large.scale()).isEqualTo(-3);
+            assertThat(large.precision()).isLessThanOrEqualTo(40);
+            assertThat(Randoms.randomBigDecimal().scale()).isBetween(0, 9);
+        });
+        assertThat(catchThrowable(() -> Randoms.randomBigDecimal(0, 1))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void fill_byte_buffer_writes_between_position_and_limit()
+    {
+        for (final ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(64), ByteBuffer.allocateDirect(64)})
+        {
+            buffer.position(3).limit(60);
+            Randoms.fill(buffer);
+            assertThat(buffer.position()).isEqualTo(60);
+            buffer.clear();
+            assertThat(buffer.get(0)).isZero();
+            assertThat(buffer.get(2)).isZero();
+            assertThat(buffer.get(60)).isZero();
+            assertThat(buffer.get(63)).isZero();
+            final long nonZero = IntStream.range(3, 60).filter(i -> buffer.get(i) != 0).count();
+            assertThat(nonZero).isGreaterThan(40L);
+        }
+    }
+
+    @Test
+    public void parallel_fill_covers_large_direct_buffers()
+    {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect((5 << 20) + 13);
+        Randoms.fillParallel(buffer);
+        assertThat(buffer.remaining()).isZero();
+        final long[] counts = new long[2];
+        for (int i = 0; i < buffer.capacity(); i++)
+        {
+            counts[buffer.get(i) < 0 ? 1 : 0]++;
+        }
+        assertThat(counts[1] / (double) buffer.capacity()).isBetween(0.49, 0.51);
+        assertThat(buffer.get(buffer.capacity() - 1) | buffer.get(buffer.capacity() - 2) | buffer.get(buffer.capacity() - 3))
+                .isNotZero();
+    }
+
+    @Test
+    public void parallel_fill_is_reproducible_in_a_session()
+    {
+        final ByteBuffer first = RandomSession.seeded(9L).call(() -> Randoms.fillParallel(ByteBuffer.allocate(3 << 20)));
+        final ByteBuffer second = RandomSession.seeded(9L).call(() -> Randoms.fillParallel(ByteBuffer.allocate(3 << 20)));
+        first.flip();
+        second.flip();
+        assertThat(first.equals(second)).isTrue();
+    }
+
+    @Test
+    public void fill_rejects_read_only_buffers()
+    {
+        assertThat(catchThrowable(() -> Randoms.fill(ByteBuffer.allocate(8).asReadOnlyBuffer())))
+                .isInstanceOf(ReadOnlyBufferException.class);
+    }
+
     //utils
 
     private Set<String> toLowerCase(final Set<String> set)
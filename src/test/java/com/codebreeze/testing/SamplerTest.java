@@ -0,0 +1,81 @@
+package com.codebreeze.testing;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class SamplerTest
+{
+    @Test
+    public void sampler_picks_every_item_uniformly()
+    {
+        final Sampler<String> sampler = Sampler.of(new HashSet<>(Arrays.asList("a", "b", "c", "d")));
+        final int[] counts = new int[4];
+        IntStream.range(0, 40000).forEach(i -> counts[sampler.get().charAt(0) - 'a']++);
+        for (final int count : counts)
+        {
+            assertThat(count).isBetween(9400, 10600);
+        }
+    }
+
+    @Test
+    public void sampler_takes_a_snapshot_of_the_collection()
+    {
+        final List<Integer> items = new ArrayList<>(Arrays.asList(1, 2, 3));
+        final Sampler<Integer> sampler = Sampler.of(items);
+        items.clear();
+        assertThat(sampler.size()).isEqualTo(3);
+        assertThat(sampler.get()).isBetween(1, 3);
+    }
+
+    @Test
+    public void sampler_of_varargs_copies_the_array()
+    {
+        final String[] items = {"x", "y"};
+        final Sampler<String> sampler = Sampler.of(items);
+        items[0] = "z";
+        items[1] = "z";
+        final Set<String> picked = new HashSet<>();
+        IntStream.range(0, 100).forEach(i -> picked.add(sampler.get()));
+        assertThat(picked).containsOnly("x", "y");
+    }
+
+    @Test
+    public void enum_samplers_are_built_once_per_class()
+    {
+        assertThat(Sampler.ofEnum(Colour.class)).isSameAs(Sampler.ofEnum(Colour.class));
+        assertThat(Sampler.ofEnum(Colour.class).size()).isEqualTo(3);
+        final Set<Colour> picked = new HashSet<>();
+        IntStream.range(0, 100).forEach(i -> picked.add(Sampler.ofEnum(Colour.class).get()));
+        assertThat(picked).containsOnly(Colour.values());
+    }
+
+    @Test
+    public void sampler_rejects_empty_and_null_input()
+    {
+        assertThat(catchThrowable(() -> Sampler.of(Collections.emptyList())))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> Sampler.ofEnum(Empty.class))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> Sampler.of((List<String>) null))).isInstanceOf(NullPointerException.class);
+    }
+
+    private enum Colour
+    {
+        RED,
+        GREEN,
+        BLUE
+    }
+
+    private enum Empty
+    {
+    }
+}
@@ -0,0 +1,39 @@
+package com.codebreeze.testing;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class SourceLocalTest
+{
+    @Test
+    public void each_source_gets_fresh_state()
+    {
+        final SourceLocal<AtomicInteger> counter = new SourceLocal<>(AtomicInteger::new);
+        counter.get().incrementAndGet();
+        final int inSession = RandomSession.seeded(1L).call(() -> counter.get().incrementAndGet());
+        assertThat(inSession).isEqualTo(1);
+    }
+
+    @Test
+    public void nested_sessions_leave_the_outer_state_alone()
+    {
+        final SourceLocal<AtomicInteger> counter = new SourceLocal<>(AtomicInteger::new);
+        final int outer = RandomSession.seeded(1L).call(() ->
+                                                         {
+                                                             counter.get().incrementAndGet();
+                                                             RandomSession.seeded(2L).call(() -> counter.get().addAndGet(10));
+                                                             return counter.get().incrementAndGet();
+                                                         });
+        assertThat(outer).isEqualTo(2);
+    }
+
+    @Test
+    public void initial_cannot_be_null()
+    {
+        assertThat(catchThrowable(() -> new SourceLocal<>(null))).isInstanceOf(NullPointerException.class);
+    }
+}
@@ -0,0 +1,125 @@
+package com.codebreeze.testing;
+
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class Utf8MixTest
+{
+    @Test
+    public void generated_bytes_are_valid_utf8_of_the_exact_length() throws Exception
+    {
+        for (final Utf8Mix mix : new Utf8Mix[]{Utf8Mix.ASCII, Utf8Mix.EVEN, Utf8Mix.WEB})
+        {
+            for (int length = 0; length < 50; length++)
+            {
+                final byte[] bytes = Randoms.randomUtf8(length, mix);
+                assertThat(bytes).hasSize(length);
+                assertThat(decode(bytes).getBytes(StandardCharsets.UTF_8)).isEqualTo(bytes);
+            }
+        }
+    }
+
+    @Test
+    public void widths_follow_the_mix() throws Exception
+    {
+        final String text = decode(Randoms.randomUtf8(1_000_000, Utf8Mix.of(1.0, 1.0, 1.0, 1.0)));
+        final int[] counts = new int[5];
+        text.codePoints().forEach(codePoint -> counts[new String(Character.toChars(codePoint))
+                                                          .getBytes(StandardCharsets.UTF_8).length]++);
+        final int total = counts[1] + counts[2] + counts[3] + counts[4];
+        for (int width = 1; width <= 4; width++)
+        {
+            assertThat(counts[width] / (double) total).isBetween(0.24, 0.26);
+        }
+    }
+
+    @Test
+    public void only_ascii_is_written_for_the_ascii_mix()
+    {
+        for (final byte b : Randoms.randomUtf8(10000, Utf8Mix.ASCII))
+        {
+            assertThat(b).isBetween((byte) 0, (byte) 0x7F);
+        }
+    }
+
+    @Test
+    public void consecutive_direct_fills_write_exactly_their_length() throws Exception
+    {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(20_000);
+        for (final int length : new int[]{12, 9_000, 3, 8_192})
+        {
+            final int start = buffer.position();
+            Randoms.randomUtf8(buffer, length, Utf8Mix.EVEN);
+            assertThat(buffer.position()).isEqualTo(start + length);
+            final byte[] bytes = new byte[length];
+            ((ByteBuffer) buffer.duplicate().position(start)).get(bytes);
+            assertThat(decode(bytes).getBytes(StandardCharsets.UTF_8)).isEqualTo(bytes);
+        }
+    }
+
+    @Test
+    public void heap_and_direct_buffers_are_filled_from_their_position() throws Exception
+    {
+        for (final ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(100_010), ByteBuffer.allocateDirect(100_010)})
+        {
+            buffer.position(10);
+            Randoms.randomUtf8(buffer, 100_000, Utf8Mix.EVEN);
+            assertThat(buffer.position()).isEqualTo(100_010);
+            buffer.flip();
+            buffer.position(10);
+            final byte[] bytes = new byte[100_000];
+            buffer.get(bytes);
+            assertThat(decode(bytes).getBytes(StandardCharsets.UTF_8)).isEqualTo(bytes);
+        }
+        assertThat(catchThrowable(() -> Randoms.randomUtf8(ByteBuffer.allocate(3), 4, Utf8Mix.ASCII)))
+                .isInstanceOf(BufferOverflowException.class);
+    }
+
+    @Test
+    public void sub_arrays_are_filled_without_touching_the_rest() throws Exception
+    {
+        final byte[] bytes = new byte[20];
+        Randoms.randomUtf8(bytes, 5, 10, Utf8Mix.EVEN);
+        for (final int i : new int[]{0, 4, 15, 19})
+        {
+            assertThat(bytes[i]).isZero();
+        }
+        final byte[] middle = new byte[10];
+        System.arraycopy(bytes, 5, middle, 0, 10);
+        assertThat(decode(middle).getBytes(StandardCharsets.UTF_8)).isEqualTo(middle);
+    }
+
+    @Test
+    public void lengths_the_mix_cannot_build_are_rejected()
+    {
+        final Utf8Mix emoji = Utf8Mix.of(0.0, 0.0, 0.0, 1.0);
+        assertThat(emoji.canFill(8)).isTrue();
+        assertThat(emoji.canFill(10)).isFalse();
+        assertThat(emoji.canFill(1002)).isFalse();
+        assertThat(Randoms.randomUtf8(400, emoji)).hasSize(400);
+        assertThat(catchThrowable(() -> Randoms.randomUtf8(10, emoji))).isInstanceOf(IllegalArgumentException.class);
+        final Utf8Mix cjkAndGreek = Utf8Mix.of(0.0, 1.0, 1.0, 0.0);
+        assertThat(cjkAndGreek.canFill(1)).isFalse();
+        IntStream.range(2, 40).forEach(length -> assertThat(Randoms.randomUtf8(length, cjkAndGreek)).hasSize(length));
+        assertThat(catchThrowable(() -> Utf8Mix.of(0.0, 0.0, 0.0, 0.0))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> Randoms.randomUtf8(-1, Utf8Mix.ASCII))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String decode(final byte[] bytes) throws CharacterCodingException
+    {
+        return StandardCharsets.UTF_8.newDecoder()
+                                     .onMalformedInput(CodingErrorAction.REPORT)
+                                     .onUnmappableCharacter(CodingErrorAction.REPORT)
+                                     .decode(ByteBuffer.wrap(bytes))
+                                     .toString();
+    }
+}
@@ -0,0 +1,103 @@
+package com.codebreeze.testing;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntSupplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class WeightedSamplerTest
+{
+    @Test
+    public void picks_follow_the_weights()
+    {
+        final Map<String, Double> mix = new LinkedHashMap<>();
+        mix.put("read", 70.0);
+        mix.put("write", 25.0);
+        mix.put("delete", 5.0);
+        final WeightedSampler<String> sampler = Randoms.weightedFrom(mix);
+        final Map<String, Integer> counts = new HashMap<>();
+        IntStream.range(0, 100000).forEach(i -> counts.merge(sampler.get(), 1, Integer::sum));
+        assertThat(counts.get("read")).isBetween(69000, 71000);
+        assertThat(counts.get("write")).isBetween(24000, 26000);
+        assertThat(counts.get("delete")).isBetween(4500, 5500);
+    }
+
+    @Test
+    public void zero_weights_are_never_picked()
+    {
+        final WeightedSampler<Integer> sampler = Randoms.weightedFrom(new Integer[]{1, 2, 3}, new double[]{0.0, 1.0, 0.0});
+        IntStream.range(0, 1000).forEach(i -> assertThat(sampler.get()).isEqualTo(2));
+    }
+
+    @Test
+    public void weighted_indices_handle_many_skewed_weights()
+    {
+        final double[] weights = new double[1000];
+        weights[0] = 999.0;
+        for (int i = 1; i < weights.length; i++)
+        {
+            weights[i] = 1.0 / 999.0;
+        }
+        final IntSupplier index = Randoms.weightedIndex(weights);
+        final int[] hits = {0};
+        IntStream.range(0, 100000).forEach(i ->
+        {
+            final int picked = index.getAsInt();
+            assertThat(picked).isBetween(0, 999);
+            hits[0] += picked == 0 ? 1 : 0;
+        });
+        assertThat(hits[0]).isBetween(99800, 100000);
+    }
+
+    @Test
+    public void equal_weights_are_uniform()
+    {
+        final IntSupplier index = Randoms.weightedIndex(2.0, 2.0, 2.0, 2.0);
+        final int[] counts = new int[4];
+        IntStream.range(0, 40000).forEach(i -> counts[index.getAsInt()]++);
+        for (final int count : counts)
+        {
+            assertThat(count).isBetween(9400, 10600);
+        }
+    }
+
+    @Test
+    public void bad_weights_are_rejected()
+    {
+        assertThat(catchThrowable(() -> Randoms.weightedIndex())).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> Randoms.weightedIndex(1.0, -1.0))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> Randoms.weightedIndex(0.0, 0.0))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> Randoms.weightedIndex(Double.NaN))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> Randoms.weightedIndex(Double.MAX_VALUE, Double.MAX_VALUE)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> Randoms.weightedFrom(new String[]{"a"}, new double[]{1.0, 2.0})))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void weighted_sampler_plugs_into_randomized_instances()
+    {
+        final Tier gold = new Tier();
+        final Map<Tier, Double> tiers = new HashMap<>();
+        tiers.put(gold, 1.0);
+        final Holder holder = RandomizedInstance.forClass(Holder.class)
+                                                .withComplexTypeSupplier(Tier.class, Randoms.weightedFrom(tiers))
+                                                .get();
+        assertThat(holder.tier).isSameAs(gold);
+    }
+
+    private static final class Tier
+    {
+    }
+
+    private static class Holder
+    {
+        private Tier tier;
+    }
+}